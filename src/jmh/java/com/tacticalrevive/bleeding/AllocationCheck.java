@@ -0,0 +1,114 @@
+package com.tacticalrevive.bleeding;
+
+import java.lang.management.ManagementFactory;
+import java.util.UUID;
+
+/**
+ * Asserts that the steady-state tick of downed players allocates nothing.
+ *
+ * <p>Registers a population of downed players with 0 to 8 helpers in
+ * {@link BleedingManager} and advances the scheduler, so the manager's own
+ * expiry and helper-check timers, deadline listener, journal hook and update
+ * building run. The players are detached, so the parts of the tick that need a
+ * live server are not covered: the helper check's entity lookups, effect
+ * maintenance and sending updates (see {@link BleedingManager#registerDetached}).
+ *
+ * <p>A revive or bleed-out knocks the player out again with the same helpers.
+ * That is a transition, not steady state: the bytes it allocates are measured
+ * separately and reported, and everything else the thread allocates after
+ * warmup must be zero. Run with {@code ./gradlew allocationCheck}, which
+ * {@code check} depends on; exits non-zero on failure.
+ */
+public final class AllocationCheck {
+
+    private static final int PLAYERS = 200;
+    private static final int WARMUP_TICKS = 50_000;
+    private static final int MEASURED_TICKS = 10_000;
+
+    private static com.sun.management.ThreadMXBean threads;
+    private static long transitionBytes = 0;
+    private static int transitions = 0;
+
+    private AllocationCheck() {
+    }
+
+    public static void main(String[] args) {
+        threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        if (!threads.isThreadAllocatedMemorySupported()) {
+            System.err.println("Thread allocation counters are not supported by this JVM");
+            System.exit(2);
+        }
+        threads.setThreadAllocatedMemoryEnabled(true);
+
+        BleedingManager.clearAll();
+        BleedingScheduler.advanceTo(0);
+
+        for (int i = 0; i < PLAYERS; i++) {
+            new Downed(i, i % 9).register();
+        }
+
+        long tick = 0;
+        for (int i = 0; i < WARMUP_TICKS; i++) {
+            BleedingScheduler.advanceTo(++tick);
+        }
+
+        transitionBytes = 0;
+        transitions = 0;
+        long before = threads.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < MEASURED_TICKS; i++) {
+            BleedingScheduler.advanceTo(++tick);
+        }
+        long allocated = threads.getCurrentThreadAllocatedBytes() - before - transitionBytes;
+
+        System.out.printf("%d downed players, %d ticks: %d bytes allocated in steady state (%.2f bytes/tick), "
+                        + "%d transitions allocated %d bytes%n",
+                PLAYERS, MEASURED_TICKS, allocated, (double) allocated / MEASURED_TICKS,
+                transitions, transitionBytes);
+        BleedingManager.clearAll();
+        if (allocated > 0) {
+            System.err.println("Steady-state tick allocates");
+            System.exit(1);
+        }
+    }
+
+    /**
+     * A downed player whose helpers never leave, knocked out again whenever it is revived or bleeds out.
+     */
+    private static final class Downed {
+        private final UUID id = UUID.randomUUID();
+        private final int entityId;
+        private final BleedingData data = new BleedingData();
+        private final int[] helperIds;
+        private final UUID[] helpers;
+
+        private Downed(int index, int helperCount) {
+            entityId = index * 16;
+            helperIds = new int[helperCount];
+            helpers = new UUID[helperCount];
+            for (int i = 0; i < helperCount; i++) {
+                helperIds[i] = entityId + 1 + i;
+                helpers[i] = UUID.randomUUID();
+            }
+        }
+
+        private void register() {
+            knockOut();
+            BleedingManager.registerDetached(id, entityId, data, this::restart);
+        }
+
+        private void knockOut() {
+            data.begin(null);
+            for (int i = 0; i < helpers.length; i++) {
+                data.addHelper(helperIds[i], helpers[i]);
+            }
+        }
+
+        private void restart() {
+            long before = threads.getCurrentThreadAllocatedBytes();
+            data.revive();
+            knockOut();
+            transitionBytes += threads.getCurrentThreadAllocatedBytes() - before;
+            transitions++;
+        }
+    }
+}
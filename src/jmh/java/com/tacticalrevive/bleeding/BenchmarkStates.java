@@ -0,0 +1,19 @@
+package com.tacticalrevive.bleeding;
+
+/**
+ * Player-free bleeding states for benchmarks outside this package.
+ */
+public final class BenchmarkStates {
+
+    private BenchmarkStates() {
+    }
+
+    /**
+     * @return bleeding data knocked out at the scheduler's current tick
+     */
+    public static BleedingData downed() {
+        BleedingData data = new BleedingData();
+        data.begin(null);
+        return data;
+    }
+}
@@ -0,0 +1,96 @@
+package com.tacticalrevive.bleeding;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-tick cost of a downed player with 0, 1 and 8 helpers.
+ *
+ * <p>There is no per-player tick any more; a tick is advancing the scheduler,
+ * which fires the player's expiry and helper-check timers in the manager when
+ * they come due. The player is registered detached, so the helper check skips
+ * its entity lookups and there are no effects to maintain; see
+ * {@link BleedingManager#registerDetached}. A revive or bleed-out knocks the
+ * player out again with the same helpers. Helper churn covers the rebase, rate
+ * update, journal record and client update built when a helper joins or leaves.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BleedingDataBenchmark {
+
+    @Param({"0", "1", "8"})
+    public int helpers;
+
+    private BleedingData data;
+    private UUID[] helperUuids;
+    private UUID churnHelper;
+    private int churnHelperId;
+    private long tick;
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        BleedingManager.clearAll();
+        tick = 0;
+        BleedingScheduler.advanceTo(tick);
+
+        data = new BleedingData();
+        helperUuids = new UUID[helpers];
+        for (int i = 0; i < helpers; i++) {
+            helperUuids[i] = UUID.randomUUID();
+        }
+        knockOut();
+        BleedingManager.registerDetached(UUID.randomUUID(), helpers, data, this::restart);
+
+        churnHelper = UUID.randomUUID();
+        churnHelperId = helpers + 1;
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() {
+        BleedingManager.clearAll();
+    }
+
+    private void knockOut() {
+        data.begin(null);
+        for (int i = 0; i < helpers; i++) {
+            data.addHelper(i, helperUuids[i]);
+        }
+    }
+
+    private void restart() {
+        data.revive();
+        knockOut();
+    }
+
+    @Benchmark
+    public long tick() {
+        BleedingScheduler.advanceTo(++tick);
+        return BleedingScheduler.currentTick();
+    }
+
+    @Benchmark
+    public void helperChurn(Blackhole bh) {
+        data.addHelper(churnHelperId, churnHelper);
+        data.removeHelper(churnHelperId);
+        bh.consume(data.getReviveRate());
+    }
+}
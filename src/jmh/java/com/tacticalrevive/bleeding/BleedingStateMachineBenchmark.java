@@ -0,0 +1,93 @@
+package com.tacticalrevive.bleeding;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Simulates a population of downed players through knockout, helper changes,
+ * revival and bleed-out on the Minecraft-independent core, one tick per invocation.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BleedingStateMachineBenchmark {
+
+    private static final BleedingStateMachine.Rules RULES =
+            new BleedingStateMachine.Rules(1200, 10, 100.0f, 1.0f, false, true);
+
+    @Param({"1000", "10000"})
+    public int players;
+
+    private BleedingStateMachine[] machines;
+    private UUID[] helpers;
+    private SplittableRandom random;
+    private long tick;
+
+    @Setup
+    public void setup() {
+        machines = new BleedingStateMachine[players];
+        helpers = new UUID[players];
+        for (int i = 0; i < players; i++) {
+            machines[i] = new BleedingStateMachine();
+            helpers[i] = UUID.randomUUID();
+        }
+        random = new SplittableRandom(42);
+        tick = 0;
+    }
+
+    @Benchmark
+    public int tick() {
+        long now = ++tick;
+        int finished = 0;
+
+        for (int i = 0; i < machines.length; i++) {
+            BleedingStateMachine machine = machines[i];
+            if (!machine.isBleeding()) {
+                // Roughly one knockout per player every 50 seconds
+                if (random.nextInt(1000) == 0) {
+                    machine.knockOut(now, RULES);
+                }
+                continue;
+            }
+
+            // Helpers come and go every few seconds
+            if (random.nextInt(60) == 0) {
+                if (machine.getHelperCount() == 0) {
+                    machine.addHelper(i, helpers[i], now);
+                } else {
+                    machine.removeHelper(i, now);
+                }
+            }
+
+            switch (machine.advance(now)) {
+                case REVIVE_DUE -> {
+                    machine.revive();
+                    finished++;
+                }
+                case BLED_OUT -> {
+                    machine.reset();
+                    finished++;
+                }
+                case NONE -> {
+                }
+            }
+        }
+        return finished;
+    }
+}
@@ -0,0 +1,90 @@
+package com.tacticalrevive.bleeding;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link BleedingManager#removeHelperFromAll} with 10, 100 and 500 players online.
+ *
+ * <p>Half of the players are downed and every other player is helping one of
+ * them. Each invocation detaches a helper and re-attaches it so the population
+ * stays constant.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HelperIndexBenchmark {
+
+    @Param({"10", "100", "500"})
+    public int players;
+
+    private int[] helperIds;
+    private UUID[] helperUuids;
+    private UUID[] targetIds;
+    private BleedingData[] targets;
+    private int next;
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        BleedingManager.clearAll();
+        BleedingScheduler.advanceTo(0);
+
+        int downed = players / 2;
+        targetIds = new UUID[downed];
+        targets = new BleedingData[downed];
+        helperIds = new int[players - downed];
+        helperUuids = new UUID[players - downed];
+
+        for (int i = 0; i < downed; i++) {
+            targetIds[i] = UUID.randomUUID();
+            targets[i] = new BleedingData();
+            targets[i].begin(null);
+        }
+        for (int i = 0; i < helperIds.length; i++) {
+            helperIds[i] = downed + i;
+            helperUuids[i] = UUID.randomUUID();
+            targets[i % downed].addHelper(helperIds[i], helperUuids[i]);
+        }
+        for (int i = 0; i < downed; i++) {
+            BleedingManager.registerDetached(targetIds[i], i, targets[i], () -> { });
+        }
+        next = 0;
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() {
+        BleedingManager.clearAll();
+    }
+
+    @Benchmark
+    public void removeHelperFromAll() {
+        int i = next;
+        next = (i + 1) % helperIds.length;
+
+        int helperId = helperIds[i];
+        int target = i % targets.length;
+
+        BleedingManager.removeHelperFromAll(helperId);
+
+        // Re-attach so the next pass over this helper has work to do
+        targets[target].addHelper(helperId, helperUuids[i]);
+        BleedingManager.indexHelper(helperId, targetIds[target]);
+    }
+}
@@ -0,0 +1,95 @@
+package com.tacticalrevive.config;
+
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+import net.minecraft.core.registries.Registries;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.level.Level;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link RegionIndex#rulesAt} with 10, 100 and 1000 boxes of 16 to 128 blocks
+ * scattered over a 4096 block square, at random positions in that square.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RegionIndexBenchmark {
+
+    private static final int AREA = 4096;
+    private static final int POSITIONS = 1024; // power of two
+
+    @Param({"10", "100", "1000"})
+    public int regions;
+
+    private RegionIndex index;
+    private ResourceKey<Level> overworld;
+    private int[] xs;
+    private int[] zs;
+    private int next;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < regions; i++) {
+            int x = random.nextInt(AREA) - AREA / 2;
+            int z = random.nextInt(AREA) - AREA / 2;
+            int size = 16 + random.nextInt(113);
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"dimension\":\"minecraft:overworld\",\"priority\":").append(random.nextInt(4))
+                    .append(",\"box\":[").append(x).append(",-64,").append(z).append(',')
+                    .append(x + size).append(",320,").append(z + size)
+                    .append("],\"bleedingTime\":").append(200 + i).append('}');
+        }
+        json.append(']');
+
+        List<RegionProfile> parsed = new Gson().fromJson(json.toString(),
+                new TypeToken<List<RegionProfile>>() { }.getType());
+        List<RegionProfile> profiles = new ArrayList<>();
+        for (int i = 0; i < parsed.size(); i++) {
+            if (parsed.get(i).validate(i)) {
+                profiles.add(parsed.get(i));
+            }
+        }
+
+        index = RegionIndex.build(TacticalReviveConfig.get(), profiles);
+        overworld = ResourceKey.create(Registries.DIMENSION, ResourceLocation.withDefaultNamespace("overworld"));
+
+        xs = new int[POSITIONS];
+        zs = new int[POSITIONS];
+        for (int i = 0; i < POSITIONS; i++) {
+            xs[i] = random.nextInt(AREA) - AREA / 2;
+            zs[i] = random.nextInt(AREA) - AREA / 2;
+        }
+    }
+
+    @Benchmark
+    public RegionRules rulesAt() {
+        int i = next;
+        next = (i + 1) & (POSITIONS - 1);
+        return index.rulesAt(overworld, xs[i], 64, zs[i]);
+    }
+}
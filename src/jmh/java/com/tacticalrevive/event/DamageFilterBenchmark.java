@@ -0,0 +1,100 @@
+package com.tacticalrevive.event;
+
+import com.mojang.serialization.Lifecycle;
+import com.tacticalrevive.bleeding.BenchmarkStates;
+import com.tacticalrevive.bleeding.BleedingData;
+import com.tacticalrevive.bleeding.BleedingScheduler;
+import com.tacticalrevive.config.RegionRules;
+import com.tacticalrevive.config.TacticalReviveConfig;
+import net.minecraft.SharedConstants;
+import net.minecraft.core.MappedRegistry;
+import net.minecraft.core.Registry;
+import net.minecraft.core.registries.Registries;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.Bootstrap;
+import net.minecraft.world.damagesource.DamageSource;
+import net.minecraft.world.damagesource.DamageType;
+import net.minecraft.world.damagesource.DamageTypes;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Damage filtering for a downed player across a mix of damage sources:
+ * TACZ bullets, armor-piercing bullets, void and vanilla environmental damage.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DamageFilterBenchmark {
+
+    private DamageSource[] sources;
+    private BleedingData bleeding;
+    private RegionRules rules;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        SharedConstants.tryDetectVersion();
+        Bootstrap.bootStrap();
+
+        MappedRegistry<DamageType> registry = new MappedRegistry<>(Registries.DAMAGE_TYPE, Lifecycle.stable());
+        sources = new DamageSource[] {
+                source(registry, ResourceKey.create(Registries.DAMAGE_TYPE,
+                        ResourceLocation.fromNamespaceAndPath("tacz", "bullet"))),
+                source(registry, ResourceKey.create(Registries.DAMAGE_TYPE,
+                        ResourceLocation.fromNamespaceAndPath("tacz", "bullet_ignore_armor"))),
+                source(registry, DamageTypes.FELL_OUT_OF_WORLD),
+                source(registry, DamageTypes.FALL),
+                source(registry, DamageTypes.GENERIC),
+                source(registry, DamageTypes.ON_FIRE),
+        };
+
+        // Downed, with the initial damage cooldown already over
+        BleedingScheduler.clear();
+        BleedingScheduler.advanceTo(0);
+        bleeding = BenchmarkStates.downed();
+        BleedingScheduler.advanceTo(1000);
+        rules = TacticalReviveConfig.get().getRegions().global();
+    }
+
+    private static DamageSource source(MappedRegistry<DamageType> registry, ResourceKey<DamageType> key) {
+        Registry.register(registry, key, new DamageType(key.location().getPath(), 0.1f));
+        return new DamageSource(registry.getHolderOrThrow(key));
+    }
+
+    private DamageSource nextSource() {
+        DamageSource source = sources[next];
+        next = (next + 1) % sources.length;
+        return source;
+    }
+
+    @Benchmark
+    public boolean isTaczDamage() {
+        return DamageEventHandler.isTaczDamage(nextSource());
+    }
+
+    @Benchmark
+    public boolean isArmorPiercingTaczDamage() {
+        return DamageEventHandler.isArmorPiercingTaczDamage(nextSource());
+    }
+
+    @Benchmark
+    public boolean shouldBlockDamage() {
+        return DamageEventHandler.shouldBlockDamage(bleeding, rules, nextSource());
+    }
+}
@@ -0,0 +1,71 @@
+package com.tacticalrevive.network.packet;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import net.minecraft.network.FriendlyByteBuf;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link BleedingUpdatePacket#CODEC} encode and decode for a full update,
+ * a progress-only delta and a stop.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BleedingUpdatePacketBenchmark {
+
+    @Param({"full", "progress", "stopped"})
+    public String shape;
+
+    private BleedingUpdatePacket packet;
+    private ByteBuf backing;
+    private FriendlyByteBuf buf;
+
+    @Setup
+    public void setup() {
+        packet = switch (shape) {
+            case "full" -> new BleedingUpdatePacket(1234, BleedingUpdatePacket.FLAG_BLEEDING
+                    | BleedingUpdatePacket.ALL_FIELDS, 1_728_000L, 1100, 42, 1, 0.01f);
+            case "progress" -> new BleedingUpdatePacket(1234, BleedingUpdatePacket.FLAG_BLEEDING
+                    | BleedingUpdatePacket.FIELD_PROGRESS, 1_728_000L, 0, 128, 0, 0.0f);
+            default -> BleedingUpdatePacket.stopped(1234);
+        };
+        backing = Unpooled.buffer(64);
+        buf = new FriendlyByteBuf(backing);
+    }
+
+    @TearDown
+    public void tearDown() {
+        backing.release();
+    }
+
+    @Benchmark
+    public int encode() {
+        buf.clear();
+        BleedingUpdatePacket.CODEC.encode(buf, packet);
+        return buf.writerIndex();
+    }
+
+    @Benchmark
+    public BleedingUpdatePacket roundTrip() {
+        buf.clear();
+        BleedingUpdatePacket.CODEC.encode(buf, packet);
+        return BleedingUpdatePacket.CODEC.decode(buf);
+    }
+}
@@ -5,12 +5,18 @@ import com.tacticalrevive.config.TacticalReviveConfig;
 import com.tacticalrevive.event.DamageEventHandler;
 import com.tacticalrevive.event.PlayerEventHandler;
 import com.tacticalrevive.event.TaczEventHandler;
+import com.tacticalrevive.loadtest.LoadTest;
+import com.tacticalrevive.loadtest.LoadTestCommand;
 import com.tacticalrevive.network.NetworkHandler;
 import net.fabricmc.api.ModInitializer;
+import net.fabricmc.fabric.api.command.v2.CommandRegistrationCallback;
+import net.fabricmc.fabric.api.entity.event.v1.ServerEntityWorldChangeEvents;
 import net.fabricmc.fabric.api.entity.event.v1.ServerLivingEntityEvents;
 import net.fabricmc.fabric.api.entity.event.v1.ServerPlayerEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
 import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
 import net.fabricmc.fabric.api.event.player.UseEntityCallback;
+import net.fabricmc.fabric.api.networking.v1.EntityTrackingEvents;
 import net.fabricmc.fabric.api.networking.v1.ServerPlayConnectionEvents;
 import net.minecraft.resources.ResourceLocation;
 import org.slf4j.Logger;
@@ -46,14 +52,38 @@ public class TacticalRevive implements ModInitializer {
         // Player tick for bleeding state management
         ServerTickEvents.END_SERVER_TICK.register(PlayerEventHandler::onServerTick);
 
+        // Send bleeding updates queued during the tick, one payload per recipient
+        ServerTickEvents.END_SERVER_TICK.register(NetworkHandler::flushOutbox);
+
         // Player interaction for revival
         UseEntityCallback.EVENT.register(PlayerEventHandler::onUseEntity);
 
-        // Player disconnect - kill bleeding players
+        // Player disconnect - hold or kill bleeding players
         ServerPlayConnectionEvents.DISCONNECT.register(PlayerEventHandler::onPlayerDisconnect);
 
+        // Player join - re-register players restored in downed state
+        ServerPlayConnectionEvents.JOIN.register(PlayerEventHandler::onPlayerJoin);
+
+        // Start tracking / dimension change - push current state instead of periodic syncs
+        EntityTrackingEvents.START_TRACKING.register(PlayerEventHandler::onStartTracking);
+        ServerEntityWorldChangeEvents.AFTER_PLAYER_CHANGE_WORLD.register(PlayerEventHandler::onChangeWorld);
+
         // Player respawn - reset bleeding state
         ServerPlayerEvents.AFTER_RESPAWN.register(PlayerEventHandler::onPlayerRespawn);
+
+        // Server start/stop - damage type classification table
+        ServerLifecycleEvents.SERVER_STARTING.register(DamageEventHandler::onServerStarting);
+        ServerLifecycleEvents.SERVER_STOPPED.register(DamageEventHandler::onServerStopped);
+
+        // Load test command and its tick hooks
+        CommandRegistrationCallback.EVENT.register(LoadTestCommand::register);
+        ServerTickEvents.START_SERVER_TICK.register(LoadTest::onStartTick);
+        ServerTickEvents.END_SERVER_TICK.register(LoadTest::onEndTick);
+        ServerLifecycleEvents.SERVER_STOPPING.register(LoadTest::onServerStopping);
+
+        // Server start/stop - bleeding journal and downed-player registry
+        ServerLifecycleEvents.SERVER_STARTED.register(PlayerEventHandler::onServerStarted);
+        ServerLifecycleEvents.SERVER_STOPPED.register(PlayerEventHandler::onServerStopped);
     }
 
     public static ResourceLocation id(String path) {
@@ -3,7 +3,6 @@ package com.tacticalrevive.api;
 import net.minecraft.world.damagesource.DamageSource;
 import net.minecraft.world.entity.player.Player;
 
-import java.util.List;
 import java.util.UUID;
 
 /**
@@ -33,6 +32,11 @@ public interface IBleeding {
      */
     int getDownedTime();
 
+    /**
+     * @return true while the initial damage cooldown after being downed is active
+     */
+    boolean isInDamageCooldown();
+
     /**
      * @return current revival progress (0.0 to requiredProgress)
      */
@@ -62,30 +66,39 @@ public interface IBleeding {
     void forceBledOut();
 
     /**
-     * Process one tick of the bleeding state.
+     * @return number of players currently helping with revival
+     */
+    int getHelperCount();
+
+    /**
+     * Non-copying access to the helpers, for iteration by index.
+     * Removing a helper may move later entries, so iterate backwards when removing.
      *
-     * @param player the bleeding player
+     * @param index index from 0 to {@link #getHelperCount()} - 1
+     * @return entity id of the helper at that index
      */
-    void tick(Player player);
+    int getHelperId(int index);
 
     /**
-     * @return list of UUIDs of players currently helping with revival
+     * @param index index from 0 to {@link #getHelperCount()} - 1
+     * @return UUID of the helper at that index
      */
-    List<UUID> getRevivingPlayerIds();
+    UUID getHelperUuid(int index);
 
     /**
      * Add a player as a helper for revival.
      *
-     * @param helperId UUID of the helping player
+     * @param helperId   entity id of the helping player
+     * @param helperUuid UUID of the helping player
      */
-    void addHelper(UUID helperId);
+    void addHelper(int helperId, UUID helperUuid);
 
     /**
      * Remove a player from the helper list.
      *
-     * @param helperId UUID of the helper to remove
+     * @param helperId entity id of the helper to remove
      */
-    void removeHelper(UUID helperId);
+    void removeHelper(int helperId);
 
     /**
      * @return the original damage source that caused bleeding, or null
@@ -0,0 +1,212 @@
+package com.tacticalrevive.bleeding;
+
+import com.tacticalrevive.config.TacticalReviveConfig;
+import net.minecraft.network.chat.Component;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.phys.Vec3;
+import net.minecraft.world.scores.PlayerTeam;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Sends the downed, revived and died chat messages.
+ *
+ * <p>Messages go to the players selected by {@code broadcastScope} instead of the
+ * whole server. The first event after a quiet period is announced at once and
+ * opens a {@code broadcastWindow} tick window; events during the window are
+ * announced together when it closes, and a window that announced anything opens
+ * another. Events of the same kind that share a scope become one message, such
+ * as "A and B are down!" or "A and 4 others are down!". Each message is built once,
+ * sent to every recipient as a system message and logged to the server console.
+ */
+public final class BleedingBroadcaster {
+
+    /**
+     * What happened to the player.
+     */
+    public enum Kind {
+        DOWNED("tacticalrevive.message.downed"),
+        REVIVED("tacticalrevive.message.revived"),
+        DIED("tacticalrevive.message.died");
+
+        private final String key;
+
+        Kind(String key) {
+            this.key = key;
+        }
+    }
+
+    private static final List<Event> pending = new ArrayList<>();
+    private static final BleedingScheduler.Timer windowTimer = new BleedingScheduler.Timer(BleedingBroadcaster::onWindowEnd);
+    private static MinecraftServer server = null;
+
+    private BleedingBroadcaster() {
+        // Utility class
+    }
+
+    /**
+     * Announce an event at once, or when the current message window closes if one is open.
+     *
+     * @param kind   what happened
+     * @param player the player it happened to
+     */
+    public static void announce(Kind kind, ServerPlayer player) {
+        if (!TacticalReviveConfig.shouldShowBleedingMessage()) {
+            return;
+        }
+
+        server = player.server;
+        pending.add(new Event(kind, player, player.getDisplayName(), player.level().dimension(),
+                player.position(), player.getTeam()));
+
+        if (!windowTimer.isScheduled()) {
+            // Nothing was announced recently, so there is nothing to wait for
+            dispatch();
+            openWindow();
+        }
+    }
+
+    /**
+     * Drop pending messages. Called when the server stops.
+     */
+    public static void clear() {
+        BleedingScheduler.cancel(windowTimer);
+        pending.clear();
+        server = null;
+    }
+
+    private static void openWindow() {
+        int window = TacticalReviveConfig.getBroadcastWindow();
+        if (window > 0) {
+            BleedingScheduler.schedule(windowTimer, BleedingScheduler.currentTick() + window);
+        }
+    }
+
+    private static void onWindowEnd() {
+        if (!pending.isEmpty()) {
+            // Still busy: announce what the window collected and keep aggregating
+            dispatch();
+            openWindow();
+        }
+    }
+
+    private static void dispatch() {
+        if (pending.isEmpty() || server == null) {
+            pending.clear();
+            return;
+        }
+
+        TacticalReviveConfig.BroadcastScope scope = TacticalReviveConfig.getBroadcastScope();
+        double radius = TacticalReviveConfig.getBroadcastRadius();
+
+        // Group by kind and scope, keeping the order events happened in
+        Map<GroupKey, List<Event>> groups = new LinkedHashMap<>();
+        for (Event event : pending) {
+            groups.computeIfAbsent(new GroupKey(event.kind, scopeKey(scope, event, radius)),
+                    key -> new ArrayList<>()).add(event);
+        }
+        pending.clear();
+
+        for (List<Event> group : groups.values()) {
+            Component message = message(group);
+            server.sendSystemMessage(message);
+            sendToRecipients(scope, group, radius, message);
+        }
+    }
+
+    /**
+     * The part of the group key that decides who hears about an event.
+     * For radius scope, events are clustered into cells the size of the radius.
+     */
+    private static Object scopeKey(TacticalReviveConfig.BroadcastScope scope, Event event, double radius) {
+        return switch (scope) {
+            case SERVER -> Boolean.TRUE;
+            case DIMENSION -> event.dimension;
+            case RADIUS -> new Cell(event.dimension,
+                    (int) Math.floor(event.position.x / radius),
+                    (int) Math.floor(event.position.z / radius));
+            // Players without a team only hear about themselves
+            case TEAM -> event.team != null ? event.team : event.player;
+        };
+    }
+
+    private static Component message(List<Event> group) {
+        Event first = group.get(0);
+        if (group.size() == 1) {
+            return Component.translatable(first.kind.key, first.name);
+        }
+        if (group.size() == 2) {
+            return Component.translatable(first.kind.key + ".two", first.name, group.get(1).name);
+        }
+        return Component.translatable(first.kind.key + ".multiple", first.name, group.size() - 1);
+    }
+
+    private static void sendToRecipients(TacticalReviveConfig.BroadcastScope scope, List<Event> group,
+                                         double radius, Component message) {
+        Event first = group.get(0);
+        switch (scope) {
+            case SERVER -> sendAll(server.getPlayerList().getPlayers(), message);
+            case DIMENSION -> {
+                ServerLevel level = server.getLevel(first.dimension);
+                if (level != null) {
+                    sendAll(level.players(), message);
+                }
+            }
+            case RADIUS -> {
+                ServerLevel level = server.getLevel(first.dimension);
+                if (level == null) {
+                    return;
+                }
+                double radiusSq = radius * radius;
+                List<ServerPlayer> players = level.players();
+                for (int i = 0; i < players.size(); i++) {
+                    ServerPlayer recipient = players.get(i);
+                    for (Event event : group) {
+                        if (recipient.distanceToSqr(event.position) <= radiusSq) {
+                            recipient.sendSystemMessage(message);
+                            break;
+                        }
+                    }
+                }
+            }
+            case TEAM -> {
+                if (first.team == null) {
+                    if (!first.player.hasDisconnected()) {
+                        first.player.sendSystemMessage(message);
+                    }
+                    return;
+                }
+                List<ServerPlayer> players = server.getPlayerList().getPlayers();
+                for (int i = 0; i < players.size(); i++) {
+                    ServerPlayer recipient = players.get(i);
+                    if (recipient.getTeam() == first.team) {
+                        recipient.sendSystemMessage(message);
+                    }
+                }
+            }
+        }
+    }
+
+    private static void sendAll(List<ServerPlayer> players, Component message) {
+        for (int i = 0; i < players.size(); i++) {
+            players.get(i).sendSystemMessage(message);
+        }
+    }
+
+    private record Event(Kind kind, ServerPlayer player, Component name, ResourceKey<Level> dimension,
+                         Vec3 position, PlayerTeam team) {
+    }
+
+    private record GroupKey(Kind kind, Object scope) {
+    }
+
+    private record Cell(ResourceKey<Level> dimension, int x, int z) {
+    }
+}
@@ -1,20 +1,24 @@
 package com.tacticalrevive.bleeding;
 
+import com.tacticalrevive.TacticalRevive;
 import com.tacticalrevive.api.IBleeding;
+import com.tacticalrevive.config.RegionRules;
 import com.tacticalrevive.config.TacticalReviveConfig;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.nbt.ListTag;
 import net.minecraft.nbt.NbtUtils;
 import net.minecraft.nbt.Tag;
-import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.resources.ResourceLocation;
 import net.minecraft.world.damagesource.DamageSource;
 import net.minecraft.world.effect.MobEffectInstance;
 import net.minecraft.world.effect.MobEffects;
 import net.minecraft.world.entity.Pose;
+import net.minecraft.world.entity.ai.attributes.AttributeInstance;
+import net.minecraft.world.entity.ai.attributes.AttributeModifier;
+import net.minecraft.world.entity.ai.attributes.Attributes;
 import net.minecraft.world.entity.player.Player;
 
-import java.util.ArrayList;
-import java.util.List;
 import java.util.UUID;
 
 /**
@@ -23,51 +27,178 @@ import java.util.UUID;
  */
 public class BleedingData implements IBleeding {
 
-    private boolean bleeding = false;
-    private int timeLeft = 0;
-    private int downedTime = 0;
-    private float reviveProgress = 0.0f;
-    private final List<UUID> revivingPlayers = new ArrayList<>();
+    /**
+     * Movement penalty while downed, equivalent to Slowness II.
+     * Applied as a transient attribute modifier so it never needs refreshing.
+     */
+    private static final ResourceLocation MOVEMENT_PENALTY_ID = TacticalRevive.id("downed_movement_penalty");
+    private static final AttributeModifier MOVEMENT_PENALTY = new AttributeModifier(
+            MOVEMENT_PENALTY_ID, -0.3, AttributeModifier.Operation.ADD_MULTIPLIED_TOTAL);
+
+    // Glowing is applied with a long duration and only refreshed shortly before it expires
+    private static final int GLOW_DURATION = 600; // 30 seconds
+    private static final int GLOW_REFRESH_MARGIN = 20; // 1 second
+
+    // The rules live in a Minecraft-independent core; this class adds the player side effects
+    private final BleedingStateMachine state = new BleedingStateMachine();
     private DamageSource originalSource = null;
 
+    // Absolute tick at which a disconnected player's grace period ends, saved so it outlives the journal
+    private static final long NOT_HELD = Long.MIN_VALUE;
+    private long heldUntil = NOT_HELD;
+
+    // Notified whenever the bleed-out or revive deadline moves
+    private Runnable deadlineListener = null;
+
+    // Last serialized state, valid while the state machine's mod count is unchanged
+    private CompoundTag cachedTag = null;
+    private int cachedModCount = 0;
+
+    // State machine rules per region, valid for one config snapshot
+    private static final Reference2ObjectOpenHashMap<RegionRules, BleedingStateMachine.Rules> cachedRules =
+            new Reference2ObjectOpenHashMap<>();
+    private static TacticalReviveConfig.Snapshot cachedRulesConfig = null;
+
+    public BleedingData() {
+        state.setListener(this::onTransition);
+    }
+
+    /**
+     * The state machine rules for the current configuration outside every region.
+     */
+    static BleedingStateMachine.Rules rulesFromConfig() {
+        return rulesFor(TacticalReviveConfig.get().getRegions().global());
+    }
+
+    /**
+     * The state machine rules for a region under the current configuration.
+     * Built once per region and config snapshot, so knockouts do not allocate.
+     */
+    static BleedingStateMachine.Rules rulesFor(RegionRules region) {
+        TacticalReviveConfig.Snapshot config = TacticalReviveConfig.get();
+        if (cachedRulesConfig != config) {
+            cachedRules.clear();
+            cachedRulesConfig = config;
+        }
+
+        BleedingStateMachine.Rules rules = cachedRules.get(region);
+        if (rules == null) {
+            rules = new BleedingStateMachine.Rules(
+                    region.getBleedingTime(),
+                    config.getInitialDamageCooldown(),
+                    config.getRequiredReviveProgress(),
+                    config.getProgressPerPlayer(),
+                    config.shouldHaltBleedTime(),
+                    config.shouldResetProgress()
+            );
+            cachedRules.put(region, rules);
+        }
+        return rules;
+    }
+
+    private static long now() {
+        return BleedingScheduler.currentTick();
+    }
+
+    /**
+     * @return the underlying state machine, for serializers that need the raw segment
+     */
+    BleedingStateMachine getState() {
+        return state;
+    }
+
     @Override
     public boolean isBleeding() {
-        return bleeding;
+        return state.isBleeding();
     }
 
     @Override
     public boolean hasBledOut() {
-        return bleeding && timeLeft <= 0;
+        return state.hasBledOut(now());
     }
 
     @Override
     public int getTimeLeft() {
-        return timeLeft;
+        return state.getTimeLeft(now());
     }
 
     @Override
     public int getDownedTime() {
-        return downedTime;
+        return state.getDownedTime(now());
+    }
+
+    @Override
+    public boolean isInDamageCooldown() {
+        return state.isInDamageCooldown(now());
     }
 
     @Override
     public float getReviveProgress() {
-        return reviveProgress;
+        return state.getReviveProgress(now());
     }
 
     @Override
     public boolean canBeRevived() {
-        return reviveProgress >= TacticalReviveConfig.getRequiredReviveProgress();
+        return state.canBeRevived(now());
+    }
+
+    /**
+     * @return progress needed for revival, as captured when the player was knocked out
+     */
+    public float getRequiredReviveProgress() {
+        return state.getRequiredReviveProgress();
+    }
+
+    /**
+     * @return ticks of bleed time lost per tick, 0 while halted by helpers
+     */
+    public int getBleedRate() {
+        return state.getBleedRate();
+    }
+
+    /**
+     * @return revive progress gained per tick from the current helpers
+     */
+    public float getReviveRate() {
+        return state.getReviveRate();
+    }
+
+    /**
+     * @return absolute tick at which the player bleeds out, or {@link Long#MAX_VALUE} if paused
+     */
+    public long getBleedOutTick() {
+        return state.getBleedOutTick();
+    }
+
+    /**
+     * @return absolute tick at which revive progress completes, or {@link Long#MAX_VALUE} without helpers
+     */
+    public long getReviveTick() {
+        return state.getReviveTick();
+    }
+
+    /**
+     * @return absolute tick at which progress left without helpers is reset, or {@link Long#MAX_VALUE}
+     */
+    public long getProgressResetTick() {
+        return state.getProgressResetTick();
+    }
+
+    /**
+     * @return what is due at the current tick
+     */
+    public BleedingStateMachine.Outcome advance() {
+        return state.advance(now());
     }
 
     @Override
     public void knockOut(Player player, DamageSource source) {
-        this.bleeding = true;
-        this.timeLeft = TacticalReviveConfig.getBleedingTime();
-        this.downedTime = 0;
-        this.reviveProgress = 0.0f;
-        this.originalSource = source;
-        this.revivingPlayers.clear();
+        RegionRules region = RegionRules.at(player);
+        begin(source, region);
+        if (!region.getName().isEmpty()) {
+            TacticalRevive.LOGGER.debug("Player {} knocked out in region {}", player.getName().getString(),
+                    region.getName());
+        }
 
         // Set player health to bleeding health
         player.setHealth(TacticalReviveConfig.getBleedingHealth());
@@ -79,119 +210,165 @@ public class BleedingData implements IBleeding {
         applyBleedingEffects(player);
     }
 
-    @Override
-    public void revive() {
-        this.bleeding = false;
-        this.timeLeft = 0;
-        this.downedTime = 0;
-        this.reviveProgress = 0.0f;
-        this.originalSource = null;
-        this.revivingPlayers.clear();
+    /**
+     * Enter the bleeding state under the global rules without touching a player.
+     * The state half of {@link #knockOut}.
+     *
+     * @param source the damage source that caused the knockout
+     */
+    void begin(DamageSource source) {
+        begin(source, TacticalReviveConfig.get().getRegions().global());
     }
 
-    @Override
-    public void forceBledOut() {
-        this.timeLeft = 0;
+    private void begin(DamageSource source, RegionRules region) {
+        this.originalSource = source;
+        state.knockOut(now(), rulesFor(region));
     }
 
-    @Override
-    public void tick(Player player) {
-        if (!bleeding) {
+    /**
+     * Resume a bleeding state restored from saved data.
+     * Timers restart from the saved time left and progress.
+     *
+     * @param player the bleeding player
+     */
+    public void resume(Player player) {
+        if (!state.isBleeding()) {
             return;
         }
 
-        downedTime++;
+        resolveHelpers(player);
+        state.resume(now());
+        setHeldUntil(NOT_HELD);
 
-        // Maintain forced pose
         player.setPose(Pose.SWIMMING);
-
-        // Apply bleeding effects every tick
         applyBleedingEffects(player);
+    }
+
+    /**
+     * Find the entities of helpers restored from saved data, dropping those not in the level.
+     */
+    private void resolveHelpers(Player player) {
+        for (int i = state.getHelperCount() - 1; i >= 0; i--) {
+            if (state.getHelperId(i) != HelperSet.UNRESOLVED) {
+                continue;
+            }
+            Player helper = player.level().getPlayerByUUID(state.getHelperUuid(i));
+            if (helper != null) {
+                state.resolveHelper(i, helper.getId());
+            } else {
+                state.removeHelperAt(i, now());
+            }
+        }
+    }
+
+    @Override
+    public void revive() {
+        this.originalSource = null;
+        state.revive();
+    }
 
-        // Process helpers and revive progress
-        cleanupDistantHelpers(player);
+    @Override
+    public void forceBledOut() {
+        state.forceBledOut(now());
+    }
 
-        int helperCount = revivingPlayers.size();
-        if (helperCount > 0) {
-            // Add progress based on helper count
-            reviveProgress += helperCount * TacticalReviveConfig.getProgressPerPlayer();
+    private void applyBleedingEffects(Player player) {
+        applyMovementPenalty(player);
 
-            // Optionally halt bleed time while being revived
-            if (!TacticalReviveConfig.shouldHaltBleedTime()) {
-                timeLeft--;
-            }
-        } else {
-            // No helpers - countdown continues
-            timeLeft--;
+        // Optional glowing
+        if (TacticalReviveConfig.shouldGlow()) {
+            applyGlowing(player);
+        }
+    }
 
-            // Reset progress if configured
-            if (TacticalReviveConfig.shouldResetProgress()) {
-                reviveProgress = 0.0f;
+    /**
+     * Re-apply effects that were removed or are about to expire.
+     *
+     * @param player the bleeding player
+     * @return the tick at which effects next need maintenance, or {@link Long#MAX_VALUE}
+     */
+    public long maintainBleedingEffects(Player player) {
+        applyMovementPenalty(player);
+
+        if (TacticalReviveConfig.shouldGlow()) {
+            MobEffectInstance glowing = player.getEffect(MobEffects.GLOWING);
+            if (glowing == null || glowing.endsWithin(GLOW_REFRESH_MARGIN)) {
+                applyGlowing(player);
+                return BleedingScheduler.currentTick() + GLOW_DURATION - GLOW_REFRESH_MARGIN;
+            }
+            if (glowing.isInfiniteDuration()) {
+                return Long.MAX_VALUE;
             }
+            return BleedingScheduler.currentTick() + glowing.getDuration() - GLOW_REFRESH_MARGIN;
         }
+        return Long.MAX_VALUE;
+    }
 
-        // Clamp time
-        if (timeLeft < 0) {
-            timeLeft = 0;
+    private static void applyMovementPenalty(Player player) {
+        // Slowness II equivalent, no effect packet needed
+        AttributeInstance speed = player.getAttribute(Attributes.MOVEMENT_SPEED);
+        if (speed != null && !speed.hasModifier(MOVEMENT_PENALTY_ID)) {
+            speed.addTransientModifier(MOVEMENT_PENALTY);
         }
     }
 
-    private void applyBleedingEffects(Player player) {
-        // Slowness effect
+    private static void applyGlowing(Player player) {
         player.addEffect(new MobEffectInstance(
-                MobEffects.MOVEMENT_SLOWDOWN,
-                40, // 2 seconds
-                1,  // Level II
+                MobEffects.GLOWING,
+                GLOW_DURATION,
+                0,
                 false,
                 false,
                 true
         ));
+    }
 
-        // Optional glowing
-        if (TacticalReviveConfig.shouldGlow()) {
-            player.addEffect(new MobEffectInstance(
-                    MobEffects.GLOWING,
-                    40,
-                    0,
-                    false,
-                    false,
-                    true
-            ));
+    /**
+     * Remove the movement penalty and glowing applied while downed.
+     *
+     * @param player the player leaving the bleeding state
+     */
+    public void clearBleedingEffects(Player player) {
+        AttributeInstance speed = player.getAttribute(Attributes.MOVEMENT_SPEED);
+        if (speed != null) {
+            speed.removeModifier(MOVEMENT_PENALTY_ID);
         }
-    }
 
-    private void cleanupDistantHelpers(Player player) {
-        if (!(player instanceof ServerPlayer serverPlayer)) {
-            return;
+        if (TacticalReviveConfig.shouldGlow()) {
+            player.removeEffect(MobEffects.GLOWING);
         }
+    }
 
-        double maxDistance = TacticalReviveConfig.getMaxReviveDistance();
-        double maxDistSq = maxDistance * maxDistance;
+    @Override
+    public int getHelperCount() {
+        return state.getHelperCount();
+    }
 
-        revivingPlayers.removeIf(helperId -> {
-            Player helper = serverPlayer.serverLevel().getPlayerByUUID(helperId);
-            if (helper == null) {
-                return true;
-            }
-            return player.distanceToSqr(helper) > maxDistSq;
-        });
+    @Override
+    public int getHelperId(int index) {
+        return state.getHelperId(index);
     }
 
     @Override
-    public List<UUID> getRevivingPlayerIds() {
-        return new ArrayList<>(revivingPlayers);
+    public UUID getHelperUuid(int index) {
+        return state.getHelperUuid(index);
     }
 
     @Override
-    public void addHelper(UUID helperId) {
-        if (!revivingPlayers.contains(helperId)) {
-            revivingPlayers.add(helperId);
-        }
+    public void addHelper(int helperId, UUID helperUuid) {
+        state.addHelper(helperId, helperUuid, now());
     }
 
     @Override
-    public void removeHelper(UUID helperId) {
-        revivingPlayers.remove(helperId);
+    public void removeHelper(int helperId) {
+        state.removeHelper(helperId, now());
+    }
+
+    /**
+     * Remove the helper at an index. Helpers after it may move; iterate backwards.
+     */
+    public void removeHelperAt(int index) {
+        state.removeHelperAt(index, now());
     }
 
     @Override
@@ -201,46 +378,146 @@ public class BleedingData implements IBleeding {
 
     @Override
     public void reset() {
-        this.bleeding = false;
-        this.timeLeft = 0;
-        this.downedTime = 0;
-        this.reviveProgress = 0.0f;
         this.originalSource = null;
-        this.revivingPlayers.clear();
+        setHeldUntil(NOT_HELD);
+        state.reset();
+    }
+
+    /**
+     * Mark the paused state as held for a reconnect until a deadline.
+     * The deadline is saved with the player, so it applies even if the journal lost the hold.
+     *
+     * @param deadline game tick at which the disconnect grace period ends
+     */
+    void holdUntil(long deadline) {
+        setHeldUntil(deadline);
+    }
+
+    /**
+     * @return true if the state was held for a reconnect and the grace period has ended
+     */
+    public boolean isHoldExpired() {
+        return heldUntil != NOT_HELD && now() >= heldUntil;
+    }
+
+    private void setHeldUntil(long deadline) {
+        if (heldUntil != deadline) {
+            heldUntil = deadline;
+            cachedTag = null;
+        }
+    }
+
+    void setDeadlineListener(Runnable listener) {
+        this.deadlineListener = listener;
+    }
+
+    private void onTransition(BleedingStateMachine.Transition transition) {
+        if (transition == BleedingStateMachine.Transition.DEADLINE_CHANGED && deadlineListener != null) {
+            deadlineListener.run();
+        }
     }
 
     // NBT Serialization
+    // The segment is stored in absolute game ticks, so the tag only changes when
+    // the state does and can be reused between saves
+
+    /**
+     * Serialize the bleeding state.
+     * Returns the previous tag unchanged if nothing but the clock has moved since it was built.
+     */
     public CompoundTag toNbt() {
-        CompoundTag tag = new CompoundTag();
-        tag.putBoolean("bleeding", bleeding);
-        tag.putInt("timeLeft", timeLeft);
-        tag.putInt("downedTime", downedTime);
-        tag.putFloat("reviveProgress", reviveProgress);
+        if (cachedTag != null && cachedModCount == state.getModCount()) {
+            return cachedTag;
+        }
 
-        ListTag helpersList = new ListTag();
-        for (UUID uuid : revivingPlayers) {
-            helpersList.add(NbtUtils.createUUID(uuid));
+        CompoundTag tag = new CompoundTag();
+        tag.putBoolean("bleeding", isBleeding());
+        tag.putLong("knockedOutAt", state.getKnockedOutAt());
+        tag.putLong("segmentStart", state.getSegmentStart());
+        tag.putInt("segmentTimeLeft", state.getSegmentTimeLeft());
+        tag.putFloat("segmentProgress", state.getSegmentProgress());
+        tag.putInt("bleedRate", state.getBleedRate());
+        tag.putFloat("reviveRate", state.getReviveRate());
+
+        // Helper UUIDs packed as most/least significant bit pairs
+        long[] helpers = new long[state.getHelperCount() * 2];
+        for (int i = 0; i < state.getHelperCount(); i++) {
+            UUID uuid = state.getHelperUuid(i);
+            helpers[i * 2] = uuid.getMostSignificantBits();
+            helpers[i * 2 + 1] = uuid.getLeastSignificantBits();
+        }
+        tag.putLongArray("helpers", helpers);
+        if (heldUntil != NOT_HELD) {
+            tag.putLong("heldUntil", heldUntil);
         }
-        tag.put("helpers", helpersList);
 
+        cachedTag = tag;
+        cachedModCount = state.getModCount();
         return tag;
     }
 
     public void fromNbt(CompoundTag tag) {
         try {
-            this.bleeding = tag.getBoolean("bleeding");
-            this.timeLeft = tag.getInt("timeLeft");
-            this.downedTime = tag.getInt("downedTime");
-            this.reviveProgress = tag.getFloat("reviveProgress");
-
-            this.revivingPlayers.clear();
-            ListTag helpersList = tag.getList("helpers", Tag.TAG_INT_ARRAY);
-            for (Tag t : helpersList) {
-                this.revivingPlayers.add(NbtUtils.loadUUID(t));
+            reset();
+            if (!tag.getBoolean("bleeding")) {
+                return;
+            }
+
+            long now = now();
+            int timeLeft;
+            float reviveProgress;
+            int downedTime;
+            UUID[] helpers;
+
+            if (tag.contains("segmentStart", Tag.TAG_LONG)) {
+                long elapsed = Math.max(0L, now - tag.getLong("segmentStart"));
+                timeLeft = (int) Math.max(0L, tag.getInt("segmentTimeLeft") - tag.getInt("bleedRate") * elapsed);
+                reviveProgress = tag.getFloat("segmentProgress") + tag.getFloat("reviveRate") * elapsed;
+                // A paused state, saved while held for a reconnect, stopped its downed time at the segment start
+                boolean paused = tag.getInt("bleedRate") == 0 && tag.getFloat("reviveRate") == 0.0f;
+                downedTime = (int) Math.max(0L, (paused ? tag.getLong("segmentStart") : now)
+                        - tag.getLong("knockedOutAt"));
+
+                long[] packed = tag.getLongArray("helpers");
+                helpers = new UUID[packed.length / 2];
+                for (int i = 0; i < helpers.length; i++) {
+                    helpers[i] = new UUID(packed[i * 2], packed[i * 2 + 1]);
+                }
+            } else {
+                // Format before absolute ticks: values relative to the save
+                timeLeft = tag.getInt("timeLeft");
+                reviveProgress = tag.getFloat("reviveProgress");
+                downedTime = tag.getInt("downedTime");
+
+                ListTag helpersList = tag.getList("helpers", Tag.TAG_INT_ARRAY);
+                helpers = new UUID[helpersList.size()];
+                for (int i = 0; i < helpers.length; i++) {
+                    helpers[i] = NbtUtils.loadUUID(helpersList.get(i));
+                }
+            }
+
+            restoreFrom(timeLeft, reviveProgress, downedTime, helpers);
+            if (tag.contains("heldUntil", Tag.TAG_LONG)) {
+                setHeldUntil(tag.getLong("heldUntil"));
             }
         } catch (Exception e) {
             // Reset to safe state if NBT data is corrupted
             reset();
         }
     }
+
+    /**
+     * Replace the state with saved values relative to the current tick.
+     * The state stays paused until {@link #resume} is called when the player joins.
+     *
+     * @param timeLeft       bleed time left
+     * @param reviveProgress revive progress made
+     * @param downedTime     ticks already spent downed
+     * @param helpers        helpers to resolve on resume
+     */
+    public void restoreFrom(int timeLeft, float reviveProgress, int downedTime, UUID[] helpers) {
+        this.originalSource = null;
+        setHeldUntil(NOT_HELD);
+        state.restore(now(), rulesFromConfig(), timeLeft, reviveProgress, downedTime, helpers);
+    }
 }
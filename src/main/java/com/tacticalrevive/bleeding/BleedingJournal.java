@@ -0,0 +1,613 @@
+package com.tacticalrevive.bleeding;
+
+import com.tacticalrevive.TacticalRevive;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.world.level.storage.LevelResource;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only journal of downed-state transitions in the world directory.
+ *
+ * <p>Player NBT is only written on autosave, so a crash between autosaves would
+ * lose or roll back downed states. Every state change is appended here instead:
+ * records are encoded on the server thread into a buffer that is handed to a
+ * single writer thread at the end of each tick, which appends the batch to a
+ * file channel and forces it to disk. On startup the journal is replayed and
+ * compacted, and players get their exact time left and revive progress back
+ * when they next join.
+ *
+ * <p>Records are length-prefixed and checksummed; a record torn by a crash ends
+ * the replay. Clock records written once a second bound how much time is lost.
+ *
+ * <p>Revivals, deaths and offline bleed-outs are kept through compaction until
+ * the player's data is saved or they join, but at most {@link #MAX_ENDED_AGE}
+ * ticks, so players who never come back do not grow the journal for good.
+ */
+public final class BleedingJournal {
+
+    private static final String FILE_NAME = "tacticalrevive_bleeding.journal";
+    private static final int MAGIC = 0x54524A31; // "TRJ1"
+
+    private static final byte RECORD_STATE = 1;
+    private static final byte RECORD_CLEARED = 2;
+    private static final byte RECORD_CLOCK = 3;
+    private static final byte RECORD_BLED_OUT = 4;
+    private static final byte RECORD_HELD = 5;
+
+    private static final int CLOCK_INTERVAL = 20; // ticks
+    private static final long COMPACT_THRESHOLD = 1L << 20; // bytes
+    private static final int MAX_HELPERS = 256;
+    private static final long MAX_ENDED_AGE = 20L * 60 * 60 * 24 * 7; // ticks, a week of uptime
+    private static final UUID[] NO_HELPERS = new UUID[0];
+
+    // Server thread
+    private static Path path = null;
+    private static ExecutorService writer = null;
+    private static ByteBuffer pending = ByteBuffer.allocate(4096);
+    private static boolean compacting = false;
+    private static long journalBytes = 0;
+    private static long lastClockTick = Long.MIN_VALUE;
+    private static final Map<UUID, Recovered> recovered = new HashMap<>();
+    // Players whose saved data may still hold a downed state they have left, with the tick they left it
+    private static final Map<UUID, Long> clearedSinceSave = new HashMap<>();
+    // Recovered players who were held for a reconnect, with the ticks left in their window
+    private static final Map<UUID, Integer> recoveredHolds = new HashMap<>();
+    private static final CRC32 crc = new CRC32();
+
+    // Writer thread
+    private static FileChannel channel = null;
+
+    private BleedingJournal() {
+        // Utility class
+    }
+
+    /**
+     * Where the journal last saw a player who has not joined yet.
+     */
+    public enum Status {
+        /** Downed; the recovered values apply. */
+        DOWNED,
+        /** Revived or killed; any downed state in saved data is stale. */
+        CLEARED,
+        /** Bled out while offline; the death path runs when they join. */
+        BLED_OUT
+    }
+
+    /**
+     * State recovered from the journal for a player who has not joined yet.
+     *
+     * @param status         the player's last recorded transition
+     * @param tick           game tick of that transition
+     * @param timeLeft       bleed time left at the last recorded tick
+     * @param reviveProgress revive progress at the last recorded tick
+     * @param downedTime     ticks spent downed at the last recorded tick
+     * @param helpers        helpers at the last recorded tick
+     */
+    public record Recovered(Status status, long tick, int timeLeft, float reviveProgress, int downedTime,
+                            UUID[] helpers) {
+        private static Recovered ended(Status status, long tick) {
+            return new Recovered(status, tick, 0, 0.0f, 0, NO_HELPERS);
+        }
+    }
+
+    /**
+     * Replay and compact the journal, then open it for appending.
+     * Called once the server has started, before any player joins.
+     */
+    public static void open(MinecraftServer server) {
+        close();
+
+        path = server.getWorldPath(LevelResource.ROOT).resolve("data").resolve(FILE_NAME);
+        recovered.clear();
+        clearedSinceSave.clear();
+        recoveredHolds.clear();
+        pending.clear();
+        compacting = false;
+        lastClockTick = Long.MIN_VALUE;
+
+        long now = server.overworld().getGameTime();
+        try {
+            if (Files.exists(path)) {
+                replay(ByteBuffer.wrap(Files.readAllBytes(path)), now);
+            }
+        } catch (IOException e) {
+            TacticalRevive.LOGGER.error("Failed to read bleeding journal {}", path, e);
+        }
+        if (!recovered.isEmpty()) {
+            TacticalRevive.LOGGER.info("Recovered {} bleeding states from journal", recovered.size());
+        }
+
+        writer = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "TacticalRevive Journal");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        // Start from a compacted file holding only what is still unclaimed
+        beginCompaction(now);
+        flush();
+    }
+
+    /**
+     * Flush pending records and close the journal. Called when the server stops.
+     */
+    public static void close() {
+        if (writer == null) {
+            return;
+        }
+
+        flush();
+        writer.submit(BleedingJournal::closeChannel);
+        writer.shutdown();
+        try {
+            if (!writer.awaitTermination(10, TimeUnit.SECONDS)) {
+                TacticalRevive.LOGGER.warn("Bleeding journal writer did not finish in time");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        writer = null;
+        recovered.clear();
+        clearedSinceSave.clear();
+        recoveredHolds.clear();
+    }
+
+    /**
+     * Take the recovered state for a joining player, if the journal has one.
+     *
+     * @param playerId the joining player
+     * @return the recovered state, or null if the journal knows nothing newer than saved data
+     */
+    public static Recovered takeRecovered(UUID playerId) {
+        Recovered taken = recovered.remove(playerId);
+        if (taken != null && taken.status() == Status.CLEARED) {
+            // The player's saved data is stale until it is written again
+            clearedSinceSave.put(playerId, taken.tick());
+        }
+        return taken;
+    }
+
+    /**
+     * Take the players who were held for a reconnect when the journal was last written.
+     * Their downed state is still available from {@link #takeRecovered}.
+     *
+     * @return ticks left in each player's grace period, keyed by player
+     */
+    public static Map<UUID, Integer> takeRecoveredHolds() {
+        Map<UUID, Integer> holds = new HashMap<>(recoveredHolds);
+        recoveredHolds.clear();
+        return holds;
+    }
+
+    /**
+     * Note that a player's data was just saved, so their last transition no longer
+     * needs to survive compaction. Called whenever player NBT is written.
+     */
+    public static void markSaved(UUID playerId) {
+        clearedSinceSave.remove(playerId);
+    }
+
+    /**
+     * Record the current downed state of a player.
+     */
+    public static void recordState(UUID playerId, BleedingData data) {
+        if (writer == null) {
+            return;
+        }
+        recovered.remove(playerId);
+        clearedSinceSave.remove(playerId);
+
+        BleedingStateMachine state = data.getState();
+        int helperCount = Math.min(state.getHelperCount(), MAX_HELPERS);
+        writeState(playerId, BleedingScheduler.currentTick(), state.getKnockedOutAt(), state.getSegmentStart(),
+                state.getSegmentTimeLeft(), state.getSegmentProgress(), state.getBleedRate(), state.getReviveRate(),
+                helperCount, index -> state.getHelperUuid(index));
+    }
+
+    /**
+     * Record that a disconnected downed player is held until an absolute deadline.
+     * Their paused state is recorded with it, so both survive a restart.
+     *
+     * @param playerId the disconnected player
+     * @param snapshot their paused downed state
+     * @param deadline game tick at which they bleed out unless they reconnect
+     */
+    public static void recordHeld(UUID playerId, DisconnectGracePeriod.Snapshot snapshot, long deadline) {
+        if (writer == null) {
+            return;
+        }
+        recovered.remove(playerId);
+        clearedSinceSave.remove(playerId);
+
+        long now = BleedingScheduler.currentTick();
+        writeState(playerId, now, now - snapshot.downedTime(), now, snapshot.timeLeft(),
+                snapshot.reviveProgress(), 0, 0.0f, 0, index -> null);
+        writeHeld(playerId, deadline);
+    }
+
+    /**
+     * Record that a player left the downed state.
+     */
+    public static void recordCleared(UUID playerId) {
+        if (writer == null) {
+            return;
+        }
+        long now = BleedingScheduler.currentTick();
+        recovered.remove(playerId);
+        clearedSinceSave.put(playerId, now);
+        writeEnded(RECORD_CLEARED, playerId, now);
+    }
+
+    /**
+     * Record that a player bled out while offline.
+     * They are killed when they next join, even after a restart.
+     */
+    public static void recordBledOut(UUID playerId) {
+        if (writer == null) {
+            return;
+        }
+        long now = BleedingScheduler.currentTick();
+        recovered.put(playerId, Recovered.ended(Status.BLED_OUT, now));
+        clearedSinceSave.remove(playerId);
+        writeEnded(RECORD_BLED_OUT, playerId, now);
+    }
+
+    /**
+     * @return true if the journal has grown enough to be rewritten from the live state
+     */
+    public static boolean needsCompaction() {
+        return writer != null && journalBytes > COMPACT_THRESHOLD;
+    }
+
+    /**
+     * Start rewriting the journal. Pending appends are dropped; the caller must
+     * record the state of every active downed player before the next {@link #flush}.
+     * Unclaimed recoveries and clears not yet in saved player data are carried over,
+     * except revivals, deaths and bleed-outs older than {@link #MAX_ENDED_AGE}.
+     */
+    public static void beginCompaction() {
+        beginCompaction(BleedingScheduler.currentTick());
+    }
+
+    private static void beginCompaction(long now) {
+        pending.clear();
+        compacting = true;
+        journalBytes = 0;
+
+        ensureCapacity(4);
+        pending.putInt(MAGIC);
+
+        long oldest = now - MAX_ENDED_AGE;
+
+        // Unclaimed recoveries are carried over, paused at their recovered values
+        Iterator<Map.Entry<UUID, Recovered>> unclaimed = recovered.entrySet().iterator();
+        while (unclaimed.hasNext()) {
+            Map.Entry<UUID, Recovered> entry = unclaimed.next();
+            Recovered state = entry.getValue();
+            switch (state.status()) {
+                case DOWNED -> {
+                    UUID[] helpers = state.helpers();
+                    writeState(entry.getKey(), now, now - state.downedTime(), now, state.timeLeft(),
+                            state.reviveProgress(), 0, 0.0f, helpers.length, index -> helpers[index]);
+                    Integer holdLeft = recoveredHolds.get(entry.getKey());
+                    if (holdLeft != null) {
+                        writeHeld(entry.getKey(), now + holdLeft);
+                    }
+                }
+                case CLEARED, BLED_OUT -> {
+                    if (state.tick() < oldest) {
+                        // The player has not been back for too long to keep paying for the record
+                        unclaimed.remove();
+                    } else {
+                        writeEnded(state.status() == Status.CLEARED ? RECORD_CLEARED : RECORD_BLED_OUT,
+                                entry.getKey(), state.tick());
+                    }
+                }
+            }
+        }
+
+        // Revivals and deaths not yet in saved data, or a crash would bring back the stale downed state
+        clearedSinceSave.values().removeIf(tick -> tick < oldest);
+        for (Map.Entry<UUID, Long> entry : clearedSinceSave.entrySet()) {
+            writeEnded(RECORD_CLEARED, entry.getKey(), entry.getValue());
+        }
+        writeClock(now);
+    }
+
+    /**
+     * Hand the records buffered this tick to the writer thread.
+     * Called at the end of each server tick.
+     *
+     * @param hasActive whether any player is downed, in which case the clock is recorded periodically
+     */
+    public static void flush(boolean hasActive) {
+        if (writer == null) {
+            return;
+        }
+        long now = BleedingScheduler.currentTick();
+        if (hasActive && now - lastClockTick >= CLOCK_INTERVAL) {
+            writeClock(now);
+        }
+        flush();
+    }
+
+    private static void flush() {
+        if (writer == null || pending.position() == 0) {
+            return;
+        }
+
+        byte[] batch = Arrays.copyOf(pending.array(), pending.position());
+        pending.clear();
+        journalBytes += batch.length;
+
+        if (compacting) {
+            compacting = false;
+            writer.submit(() -> rewrite(batch));
+        } else {
+            writer.submit(() -> append(batch));
+        }
+    }
+
+    // Encoding (server thread)
+
+    @FunctionalInterface
+    private interface HelperLookup {
+        UUID get(int index);
+    }
+
+    private static void writeState(UUID playerId, long tick, long knockedOutAt, long segmentStart,
+                                   int segmentTimeLeft, float segmentProgress, int bleedRate, float reviveRate,
+                                   int helperCount, HelperLookup helpers) {
+        int start = beginRecord(RECORD_STATE, 16 + 8 * 3 + 4 * 4 + 2 + helperCount * 16);
+        putUuid(playerId);
+        pending.putLong(tick);
+        pending.putLong(knockedOutAt);
+        pending.putLong(segmentStart);
+        pending.putInt(segmentTimeLeft);
+        pending.putFloat(segmentProgress);
+        pending.putInt(bleedRate);
+        pending.putFloat(reviveRate);
+        pending.putShort((short) helperCount);
+        for (int i = 0; i < helperCount; i++) {
+            putUuid(helpers.get(i));
+        }
+        endRecord(start);
+    }
+
+    private static void writeEnded(byte type, UUID playerId, long tick) {
+        int start = beginRecord(type, 16 + 8);
+        putUuid(playerId);
+        pending.putLong(tick);
+        endRecord(start);
+    }
+
+    private static void writeHeld(UUID playerId, long deadline) {
+        int start = beginRecord(RECORD_HELD, 16 + 8);
+        putUuid(playerId);
+        pending.putLong(deadline);
+        endRecord(start);
+    }
+
+    private static void writeClock(long tick) {
+        int start = beginRecord(RECORD_CLOCK, 8);
+        pending.putLong(tick);
+        endRecord(start);
+        lastClockTick = tick;
+    }
+
+    /**
+     * Reserve the header of a record: payload length, checksum and type.
+     *
+     * @return buffer position of the header
+     */
+    private static int beginRecord(byte type, int bodyLength) {
+        ensureCapacity(4 + 4 + 1 + bodyLength);
+        int start = pending.position();
+        pending.putInt(0); // length, filled in by endRecord
+        pending.putInt(0); // checksum, filled in by endRecord
+        pending.put(type);
+        return start;
+    }
+
+    private static void endRecord(int start) {
+        int payloadStart = start + 8;
+        int length = pending.position() - payloadStart;
+        crc.reset();
+        crc.update(pending.array(), payloadStart, length);
+        pending.putInt(start, length);
+        pending.putInt(start + 4, (int) crc.getValue());
+    }
+
+    private static void putUuid(UUID uuid) {
+        pending.putLong(uuid.getMostSignificantBits());
+        pending.putLong(uuid.getLeastSignificantBits());
+    }
+
+    private static void ensureCapacity(int bytes) {
+        if (pending.remaining() < bytes) {
+            ByteBuffer grown = ByteBuffer.allocate(Math.max(pending.capacity() * 2, pending.position() + bytes));
+            pending.flip();
+            grown.put(pending);
+            pending = grown;
+        }
+    }
+
+    // Replay (server thread, before the writer starts)
+
+    /**
+     * @param now the current tick, standing in for the tick of records written without one
+     */
+    private static void replay(ByteBuffer buf, long now) {
+        if (buf.remaining() < 4 || buf.getInt() != MAGIC) {
+            TacticalRevive.LOGGER.warn("Ignoring bleeding journal with unknown format");
+            return;
+        }
+
+        Map<UUID, long[]> segments = new HashMap<>();
+        Map<UUID, UUID[]> helpersById = new HashMap<>();
+        Map<UUID, Status> statuses = new HashMap<>();
+        Map<UUID, Long> holdDeadlines = new HashMap<>();
+        Map<UUID, Long> endedAt = new HashMap<>();
+        long clock = Long.MIN_VALUE;
+        CRC32 check = new CRC32();
+
+        try {
+            while (buf.remaining() >= 8) {
+                int length = buf.getInt();
+                int checksum = buf.getInt();
+                if (length <= 0 || length > buf.remaining()) {
+                    break; // torn tail
+                }
+                check.reset();
+                check.update(buf.array(), buf.position(), length);
+                if ((int) check.getValue() != checksum) {
+                    break;
+                }
+
+                ByteBuffer record = buf.slice(buf.position(), length);
+                buf.position(buf.position() + length);
+
+                byte type = record.get();
+                switch (type) {
+                    case RECORD_STATE -> {
+                        UUID playerId = new UUID(record.getLong(), record.getLong());
+                        long tick = record.getLong();
+                        long[] segment = {
+                                record.getLong(),                         // knockedOutAt
+                                record.getLong(),                         // segmentStart
+                                record.getInt(),                          // segmentTimeLeft
+                                Float.floatToRawIntBits(record.getFloat()), // segmentProgress
+                                record.getInt(),                          // bleedRate
+                                Float.floatToRawIntBits(record.getFloat())  // reviveRate
+                        };
+                        UUID[] helpers = new UUID[record.getShort() & 0xFFFF];
+                        for (int i = 0; i < helpers.length; i++) {
+                            helpers[i] = new UUID(record.getLong(), record.getLong());
+                        }
+                        segments.put(playerId, segment);
+                        helpersById.put(playerId, helpers);
+                        holdDeadlines.remove(playerId);
+                        endedAt.remove(playerId);
+                        statuses.put(playerId, Status.DOWNED);
+                        clock = Math.max(clock, tick);
+                    }
+                    case RECORD_CLEARED, RECORD_BLED_OUT -> {
+                        UUID playerId = new UUID(record.getLong(), record.getLong());
+                        segments.remove(playerId);
+                        helpersById.remove(playerId);
+                        holdDeadlines.remove(playerId);
+                        // Records from before the tick was written are aged from now
+                        endedAt.put(playerId, record.remaining() >= 8 ? record.getLong() : now);
+                        statuses.put(playerId, type == RECORD_CLEARED ? Status.CLEARED : Status.BLED_OUT);
+                    }
+                    case RECORD_HELD -> {
+                        UUID playerId = new UUID(record.getLong(), record.getLong());
+                        holdDeadlines.put(playerId, record.getLong());
+                    }
+                    case RECORD_CLOCK -> clock = Math.max(clock, record.getLong());
+                    default -> {
+                        // Unknown record type from a newer version, skipped by length
+                    }
+                }
+            }
+        } catch (BufferUnderflowException e) {
+            TacticalRevive.LOGGER.warn("Bleeding journal ends in a truncated record");
+        }
+
+        // Evaluate every segment at the last tick the journal saw
+        for (Map.Entry<UUID, Status> entry : statuses.entrySet()) {
+            UUID playerId = entry.getKey();
+            if (entry.getValue() != Status.DOWNED) {
+                recovered.put(playerId, Recovered.ended(entry.getValue(), endedAt.get(playerId)));
+                continue;
+            }
+
+            // Held players whose window closed before the journal stopped have bled out
+            Long deadline = holdDeadlines.get(playerId);
+            if (deadline != null) {
+                long holdLeft = deadline - clock;
+                if (holdLeft <= 0) {
+                    recovered.put(playerId, Recovered.ended(Status.BLED_OUT, deadline));
+                    continue;
+                }
+                recoveredHolds.put(playerId, (int) Math.min(holdLeft, Integer.MAX_VALUE));
+            }
+
+            long[] segment = segments.get(playerId);
+            long elapsed = Math.max(0L, clock - segment[1]);
+            int timeLeft = (int) Math.max(0L, segment[2] - segment[4] * elapsed);
+            float progress = Float.intBitsToFloat((int) segment[3])
+                    + Float.intBitsToFloat((int) segment[5]) * elapsed;
+            boolean paused = segment[4] == 0 && Float.intBitsToFloat((int) segment[5]) == 0.0f;
+            int downedTime = (int) Math.max(0L, (paused ? segment[1] : clock) - segment[0]);
+            recovered.put(playerId, new Recovered(Status.DOWNED, clock, timeLeft, progress, downedTime,
+                    helpersById.get(playerId)));
+        }
+    }
+
+    // I/O (writer thread)
+
+    private static void append(byte[] batch) {
+        try {
+            if (channel == null) {
+                channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                        StandardOpenOption.APPEND);
+            }
+            writeFully(channel, batch);
+            channel.force(false);
+        } catch (IOException e) {
+            TacticalRevive.LOGGER.error("Failed to append to bleeding journal", e);
+        }
+    }
+
+    private static void rewrite(byte[] snapshot) {
+        closeChannel();
+        Path temp = path.resolveSibling(FILE_NAME + ".tmp");
+        try {
+            Files.createDirectories(path.getParent());
+            try (FileChannel out = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING)) {
+                writeFully(out, snapshot);
+                out.force(true);
+            }
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            TacticalRevive.LOGGER.error("Failed to compact bleeding journal", e);
+        }
+    }
+
+    private static void writeFully(FileChannel out, byte[] bytes) throws IOException {
+        ByteBuffer buf = ByteBuffer.wrap(bytes);
+        while (buf.hasRemaining()) {
+            out.write(buf);
+        }
+    }
+
+    private static void closeChannel() {
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                TacticalRevive.LOGGER.warn("Failed to close bleeding journal", e);
+            }
+            channel = null;
+        }
+    }
+}
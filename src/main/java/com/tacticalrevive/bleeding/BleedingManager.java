@@ -2,17 +2,28 @@ package com.tacticalrevive.bleeding;
 
 import com.tacticalrevive.TacticalRevive;
 import com.tacticalrevive.api.IBleeding;
+import com.tacticalrevive.config.RegionRules;
 import com.tacticalrevive.config.TacticalReviveConfig;
 import com.tacticalrevive.network.NetworkHandler;
 import com.tacticalrevive.network.packet.BleedingUpdatePacket;
-import net.minecraft.network.chat.Component;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import net.fabricmc.fabric.api.entity.FakePlayer;
+import net.minecraft.core.BlockPos;
 import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.world.damagesource.DamageSource;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.entity.EntityType;
 import net.minecraft.world.entity.player.Player;
+import net.minecraft.world.phys.AABB;
 
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.function.Predicate;
 
 /**
  * Static API for managing player bleeding states.
@@ -26,6 +37,26 @@ public final class BleedingManager {
      */
     private static final Set<UUID> playersBeingKilled = new HashSet<>();
 
+    /**
+     * Registry of players currently in the downed state.
+     * Each entry owns the scheduler timers for that player, so a downed player
+     * only costs work when one of their deadlines comes due.
+     */
+    private static final Map<UUID, ActiveBleeder> activeBleeders = new LinkedHashMap<>();
+
+    private static final UUID[] NO_HELPERS = new UUID[0];
+
+    /**
+     * Reverse helper index: helper entity id to the UUID of the player they are reviving.
+     * A helper can only assist one player at a time, so detaching is a single lookup.
+     */
+    private static final Int2ObjectOpenHashMap<UUID> helperTargets = new Int2ObjectOpenHashMap<>();
+
+    // Auto-helper query filter and result list, reused by every helper check
+    private static final Predicate<Player> AUTO_HELPER_CANDIDATE =
+            other -> other.isShiftKeyDown() && other.isAlive() && !other.isSpectator();
+    private static final List<Player> nearbyPlayers = new ArrayList<>();
+
     private BleedingManager() {
         // Utility class
     }
@@ -42,9 +73,12 @@ public final class BleedingManager {
 
     /**
      * Get the bleeding data for a player.
+     * Players only hold bleeding data while downed; to change a player's state,
+     * use {@link #startBleeding}, {@link #addHelper}, {@link #revive} and {@link #kill},
+     * which create or release the data as needed.
      *
      * @param player the player
-     * @return the bleeding data, or null if not available
+     * @return the bleeding data, or null if the player is not downed or not available
      */
     public static IBleeding getBleeding(Player player) {
         if (player instanceof IBleedingAccessor accessor) {
@@ -60,8 +94,24 @@ public final class BleedingManager {
      * @return true if bleeding
      */
     public static boolean isBleeding(Player player) {
-        IBleeding bleeding = getBleeding(player);
-        return bleeding != null && bleeding.isBleeding();
+        if (player instanceof IBleedingAccessor accessor) {
+            BleedingData data = accessor.tacticalrevive$getBleedingData();
+            return data != null && data.isBleeding();
+        }
+        return false;
+    }
+
+    /**
+     * Check whether an entity is a downed player on this server.
+     * Meant for hooks that see every entity: returns at once while nobody is
+     * downed, and otherwise reads the flag kept in step with the active registry
+     * instead of looking up bleeding data.
+     *
+     * @param entity any entity
+     * @return true if the entity is a registered downed player
+     */
+    public static boolean isDowned(Entity entity) {
+        return !activeBleeders.isEmpty() && entity instanceof IDownedFlag flag && flag.tacticalrevive$isDowned();
     }
 
     /**
@@ -71,7 +121,9 @@ public final class BleedingManager {
      * @param source the damage source
      */
     public static void startBleeding(Player player, DamageSource source) {
-        IBleeding bleeding = getBleeding(player);
+        IBleeding bleeding = player instanceof IBleedingAccessor accessor
+                ? accessor.tacticalrevive$getOrCreateBleedingData()
+                : null;
         if (bleeding == null) {
             TacticalRevive.LOGGER.error("[DEBUG] getBleeding returned null! Mixin may not be applied. Player class: {}",
                     player.getClass().getName());
@@ -82,11 +134,13 @@ public final class BleedingManager {
         bleeding.knockOut(player, source);
         TacticalRevive.LOGGER.info("[DEBUG] After knockOut: health={}, isBleeding={}", player.getHealth(), bleeding.isBleeding());
 
-        // Broadcast message
-        if (TacticalReviveConfig.shouldShowBleedingMessage() && player instanceof ServerPlayer serverPlayer) {
-            Component message = Component.translatable("tacticalrevive.message.downed",
-                    player.getDisplayName());
-            serverPlayer.server.getPlayerList().broadcastSystemMessage(message, false);
+        if (player instanceof ServerPlayer serverPlayer) {
+            registerActiveBleeder(serverPlayer);
+        }
+
+        // Announce to the configured scope
+        if (player instanceof ServerPlayer serverPlayer) {
+            BleedingBroadcaster.announce(BleedingBroadcaster.Kind.DOWNED, serverPlayer);
         }
 
         // Sync to clients
@@ -106,7 +160,14 @@ public final class BleedingManager {
             return;
         }
 
+        unindexHelpers(player, bleeding);
         bleeding.revive();
+        unregisterActiveBleeder(player);
+        clearBleedingEffects(player);
+        releaseBleedingData(player);
+        if (isJournalled(player)) {
+            BleedingJournal.recordCleared(player.getUUID());
+        }
 
         // Reset pose - refresh to recalculate
         player.refreshDimensions();
@@ -114,11 +175,9 @@ public final class BleedingManager {
         // Set health after revival
         player.setHealth(TacticalReviveConfig.getHealthAfterRevive());
 
-        // Broadcast revive message
-        if (TacticalReviveConfig.shouldShowBleedingMessage() && player instanceof ServerPlayer serverPlayer) {
-            Component message = Component.translatable("tacticalrevive.message.revived",
-                    player.getDisplayName());
-            serverPlayer.server.getPlayerList().broadcastSystemMessage(message, false);
+        // Announce to the configured scope
+        if (player instanceof ServerPlayer serverPlayer) {
+            BleedingBroadcaster.announce(BleedingBroadcaster.Kind.REVIVED, serverPlayer);
         }
 
         // Sync to clients
@@ -133,18 +192,16 @@ public final class BleedingManager {
      * @param player the player to kill
      */
     public static void kill(Player player) {
-        IBleeding bleeding = getBleeding(player);
-        if (bleeding == null) {
+        if (!(player instanceof IBleedingAccessor)) {
             return;
         }
 
-        DamageSource originalSource = bleeding.getOriginalDamageSource();
+        IBleeding bleeding = getBleeding(player);
+        DamageSource originalSource = bleeding != null ? bleeding.getOriginalDamageSource() : null;
 
-        // Broadcast death message before killing
-        if (TacticalReviveConfig.shouldShowBleedingMessage() && player instanceof ServerPlayer serverPlayer) {
-            Component message = Component.translatable("tacticalrevive.message.died",
-                    player.getDisplayName());
-            serverPlayer.server.getPlayerList().broadcastSystemMessage(message, false);
+        // Announce before killing
+        if (player instanceof ServerPlayer serverPlayer) {
+            BleedingBroadcaster.announce(BleedingBroadcaster.Kind.DIED, serverPlayer);
         }
 
         // Mark player as being killed to prevent re-entering downed state
@@ -153,7 +210,16 @@ public final class BleedingManager {
 
         try {
             // Reset state before killing
-            bleeding.reset();
+            if (bleeding != null) {
+                unindexHelpers(player, bleeding);
+                bleeding.reset();
+            }
+            unregisterActiveBleeder(player);
+            clearBleedingEffects(player);
+            releaseBleedingData(player);
+            if (isJournalled(player)) {
+                BleedingJournal.recordCleared(playerId);
+            }
             player.refreshDimensions();
 
             // Apply death
@@ -175,33 +241,242 @@ public final class BleedingManager {
     }
 
     /**
-     * Process a tick for a bleeding player.
+     * Advance the bleeding scheduler, firing any bleed-out, revive, sync or
+     * maintenance deadlines that are due. Called once per server tick.
      *
-     * @param player the player
+     * @param gameTime the overworld game time
      */
-    public static void tickBleeding(Player player) {
-        IBleeding bleeding = getBleeding(player);
-        if (bleeding == null || !bleeding.isBleeding()) {
-            return;
+    public static void advanceTimers(long gameTime) {
+        BleedingScheduler.advanceTo(gameTime);
+    }
+
+    /**
+     * Hold a downed player who disconnected for the grace period instead of killing them.
+     * Their state is paused at its current values so it resumes exactly on reconnect.
+     *
+     * @param player the disconnecting downed player
+     * @return false if the grace period is disabled and the caller should kill the player
+     */
+    public static boolean suspend(ServerPlayer player) {
+        if (!DisconnectGracePeriod.isEnabled()
+                || !(player instanceof IBleedingAccessor accessor)
+                || accessor.tacticalrevive$getBleedingData() == null) {
+            return false;
         }
 
-        bleeding.tick(player);
+        BleedingData data = accessor.tacticalrevive$getBleedingData();
+        DisconnectGracePeriod.Snapshot snapshot = new DisconnectGracePeriod.Snapshot(
+                data.getTimeLeft(), data.getReviveProgress(), data.getDownedTime());
+
+        // Helpers cannot follow the player offline
+        unindexHelpers(player, data);
+        unregisterActiveBleeder(player);
+
+        // Paused, so the saved data holds the same values as the snapshot the hold journals
+        data.restoreFrom(snapshot.timeLeft(), snapshot.reviveProgress(), snapshot.downedTime(), NO_HELPERS);
+        data.holdUntil(DisconnectGracePeriod.hold(player.getUUID(), snapshot));
 
-        // Check if player can be revived
-        if (bleeding.canBeRevived()) {
-            revive(player);
+        TacticalRevive.LOGGER.debug("Player {} disconnected while downed, holding for {} ticks",
+                player.getName().getString(), TacticalReviveConfig.getDisconnectGracePeriod());
+        return true;
+    }
+
+    /**
+     * Register a player whose bleeding state was restored from saved data.
+     * Called when a player joins the server.
+     *
+     * <p>A player reconnecting within the disconnect grace period resumes their
+     * snapshot. Otherwise, if the journal holds a newer state than the player's
+     * NBT, which happens when the server stopped without saving, the journal wins.
+     * Players who bled out while offline are killed, as are players whose saved
+     * grace period ended while the hold itself was lost.
+     *
+     * @param player the joining player
+     */
+    public static void restoreBleeding(ServerPlayer player) {
+        if (!(player instanceof IBleedingAccessor accessor)) {
             return;
         }
 
-        // Check if player has bled out
-        if (bleeding.hasBledOut()) {
+        DisconnectGracePeriod.Snapshot snapshot = DisconnectGracePeriod.take(player.getUUID());
+        BleedingJournal.Recovered recovered = BleedingJournal.takeRecovered(player.getUUID());
+        if (snapshot != null) {
+            accessor.tacticalrevive$getOrCreateBleedingData().restoreFrom(snapshot.timeLeft(),
+                    snapshot.reviveProgress(), snapshot.downedTime(), NO_HELPERS);
+        } else if (recovered != null) {
+            switch (recovered.status()) {
+                case DOWNED -> {
+                    accessor.tacticalrevive$getOrCreateBleedingData().restoreFrom(recovered.timeLeft(),
+                            recovered.reviveProgress(), recovered.downedTime(), recovered.helpers());
+                    player.setHealth(TacticalReviveConfig.getBleedingHealth());
+                }
+                case CLEARED -> accessor.tacticalrevive$releaseBleedingData();
+                case BLED_OUT -> {
+                    kill(player);
+                    return;
+                }
+            }
+        }
+
+        BleedingData data = accessor.tacticalrevive$getBleedingData();
+        if (data == null || !data.isBleeding()) {
+            return;
+        }
+        if (snapshot == null && recovered == null && data.isHoldExpired()) {
+            // Neither the grace period nor the journal knew them, but their saved deadline has passed
             kill(player);
             return;
         }
 
-        // Sync periodically (every 5 ticks)
-        if (bleeding.getDownedTime() % 5 == 0) {
-            syncBleedingState(player);
+        data.resume(player);
+        for (int i = data.getHelperCount() - 1; i >= 0; i--) {
+            // A helper can only revive one player; one already helping someone else stays with them
+            UUID existing = helperTargets.putIfAbsent(data.getHelperId(i), player.getUUID());
+            if (existing != null && !existing.equals(player.getUUID())) {
+                data.removeHelperAt(i);
+            }
+        }
+        registerActiveBleeder(player);
+        syncBleedingState(player);
+    }
+
+    /**
+     * Drop a player from the downed registry without changing their state.
+     * Called on disconnect and respawn.
+     *
+     * @param player the player to forget
+     */
+    public static void forgetPlayer(Player player) {
+        unregisterActiveBleeder(player);
+    }
+
+    /**
+     * Clear all server-scoped state. Called when the server stops so an
+     * integrated server does not keep references into the previous world.
+     */
+    public static void clearAll() {
+        BleedingJournal.close();
+        DisconnectGracePeriod.clear();
+        BleedingBroadcaster.clear();
+        activeBleeders.clear();
+        BleedingScheduler.clear();
+        helperTargets.clear();
+        playersBeingKilled.clear();
+    }
+
+    /**
+     * @return number of players currently in the downed state
+     */
+    public static int getActiveBleederCount() {
+        return activeBleeders.size();
+    }
+
+    private static void clearBleedingEffects(Player player) {
+        if (player instanceof IBleedingAccessor accessor && accessor.tacticalrevive$getBleedingData() != null) {
+            accessor.tacticalrevive$getBleedingData().clearBleedingEffects(player);
+        }
+    }
+
+    /**
+     * Drop a player's own bleeding data once they are healthy again.
+     */
+    private static void releaseBleedingData(Player player) {
+        if (player instanceof IBleedingAccessor accessor) {
+            accessor.tacticalrevive$releaseBleedingData();
+        }
+    }
+
+    private static void registerActiveBleeder(ServerPlayer player) {
+        if (!(player instanceof IBleedingAccessor accessor) || accessor.tacticalrevive$getBleedingData() == null) {
+            return;
+        }
+
+        ActiveBleeder previous = activeBleeders.remove(player.getUUID());
+        if (previous != null) {
+            previous.stop();
+        }
+
+        ActiveBleeder bleeder = new ActiveBleeder(player.getUUID(), player.getId(), player,
+                accessor.tacticalrevive$getBleedingData(), null);
+        activeBleeders.put(player.getUUID(), bleeder);
+        bleeder.start();
+        setDownedFlag(player, true);
+        if (bleeder.journalled) {
+            BleedingJournal.recordState(player.getUUID(), bleeder.data);
+        }
+    }
+
+    /**
+     * Fake players have no saved data to go stale and never rejoin,
+     * so journalling them would only grow the journal.
+     */
+    private static boolean isJournalled(Player player) {
+        return !(player instanceof FakePlayer);
+    }
+
+    /**
+     * Hand this tick's journal records to the writer, rewriting the journal from
+     * the live state once it has grown too large. Called at the end of each server tick.
+     */
+    public static void flushJournal() {
+        if (BleedingJournal.needsCompaction()) {
+            BleedingJournal.beginCompaction();
+            for (Map.Entry<UUID, ActiveBleeder> entry : activeBleeders.entrySet()) {
+                if (entry.getValue().journalled) {
+                    BleedingJournal.recordState(entry.getKey(), entry.getValue().data);
+                }
+            }
+            DisconnectGracePeriod.recordAll();
+        }
+        // Held players' deadlines are measured against the journal clock too
+        BleedingJournal.flush(!activeBleeders.isEmpty() || DisconnectGracePeriod.size() > 0);
+    }
+
+    /**
+     * Register bleeding data with no player behind it and index its helpers.
+     * Only used by the benchmarks and the allocation check to drive the manager without a server.
+     *
+     * <p>The entry runs the same timers and callbacks as a real downed player:
+     * expiry, helper checks, the deadline listener, journaling and building
+     * client updates. What needs a player is skipped: the entity lookups of the
+     * helper check, effect maintenance and sending updates. When the state
+     * would end in a revive or bleed-out, {@code onEnd} runs instead.
+     *
+     * @param targetId id the entry is registered and journaled under
+     * @param entityId entity id written to client updates
+     * @param data     downed bleeding data
+     * @param onEnd    called when revival completes or bleed time runs out
+     */
+    static void registerDetached(UUID targetId, int entityId, BleedingData data, Runnable onEnd) {
+        ActiveBleeder previous = activeBleeders.remove(targetId);
+        if (previous != null) {
+            previous.stop();
+        }
+
+        ActiveBleeder bleeder = new ActiveBleeder(targetId, entityId, null, data, onEnd);
+        activeBleeders.put(targetId, bleeder);
+        for (int i = 0; i < data.getHelperCount(); i++) {
+            indexHelper(data.getHelperId(i), targetId);
+        }
+        bleeder.start();
+        BleedingJournal.recordState(targetId, data);
+    }
+
+    static void indexHelper(int helperId, UUID targetId) {
+        helperTargets.put(helperId, targetId);
+    }
+
+    private static void unregisterActiveBleeder(Player player) {
+        ActiveBleeder bleeder = activeBleeders.remove(player.getUUID());
+        if (bleeder != null) {
+            bleeder.stop();
+        }
+        setDownedFlag(player, false);
+    }
+
+    private static void setDownedFlag(Player player, boolean downed) {
+        if (player instanceof IDownedFlag flag) {
+            flag.tacticalrevive$setDowned(downed);
         }
     }
 
@@ -217,10 +492,21 @@ public final class BleedingManager {
             return;
         }
 
+        // Clicking again on the same player must not restart the revive
+        if (target.getUUID().equals(helperTargets.get(helper.getId()))) {
+            return;
+        }
+
         // Remove helper from any other player they might be helping
         removeHelperFromAll(helper);
 
-        bleeding.addHelper(helper.getUUID());
+        bleeding.addHelper(helper.getId(), helper.getUUID());
+        helperTargets.put(helper.getId(), target.getUUID());
+
+        ActiveBleeder bleeder = activeBleeders.get(target.getUUID());
+        if (bleeder != null) {
+            bleeder.scheduleHelperCheck();
+        }
         syncBleedingState(target);
     }
 
@@ -230,20 +516,98 @@ public final class BleedingManager {
      * @param helper the helper to remove
      */
     public static void removeHelperFromAll(Player helper) {
-        if (!(helper instanceof ServerPlayer serverPlayer)) {
+        removeHelperFromAll(helper.getId());
+    }
+
+    /**
+     * Remove a helper from all bleeding players.
+     *
+     * @param helperId entity id of the helper to remove
+     */
+    public static void removeHelperFromAll(int helperId) {
+        UUID targetId = helperTargets.remove(helperId);
+        if (targetId == null) {
+            return;
+        }
+
+        ActiveBleeder target = activeBleeders.get(targetId);
+        if (target != null) {
+            target.data.removeHelper(helperId);
+        }
+    }
+
+    /**
+     * Validate helpers and discover auto-helpers.
+     * Runs every {@code helperCheckInterval} ticks while a player has helpers.
+     * Helpers who are no longer nearby are dropped; if enabled, players crouching
+     * next to the downed player who are not helping anyone yet start helping.
+     *
+     * <p>Helpers are looked up by entity id. Auto-helpers are found with one
+     * entity-section query around the player into a reused list, over an area
+     * only rebuilt when the player changes block; with auto-revive off, as by
+     * default, a helper check allocates nothing.
+     */
+    private static void refreshHelpers(ActiveBleeder bleeder) {
+        ServerPlayer player = bleeder.player;
+        BleedingData bleeding = bleeder.data;
+        TacticalReviveConfig.Snapshot config = TacticalReviveConfig.get();
+        boolean autoRevive = config.shouldAutoReviveWhenCrouching();
+        if (bleeding.getHelperCount() == 0 && !autoRevive) {
             return;
         }
 
-        for (ServerPlayer player : serverPlayer.server.getPlayerList().getPlayers()) {
-            IBleeding bleeding = getBleeding(player);
-            if (bleeding != null && bleeding.isBleeding()) {
-                bleeding.removeHelper(helper.getUUID());
+        double maxDistance = RegionRules.at(player).getMaxReviveDistance();
+        double maxDistSq = maxDistance * maxDistance;
+        UUID targetId = player.getUUID();
+
+        // Backwards so removals do not move helpers still to be checked
+        for (int i = bleeding.getHelperCount() - 1; i >= 0; i--) {
+            int helperId = bleeding.getHelperId(i);
+            if (!(player.serverLevel().getEntity(helperId) instanceof ServerPlayer helper)
+                    || !isInReviveRange(player, helper, maxDistSq)) {
+                bleeding.removeHelperAt(i);
+                helperTargets.remove(helperId, targetId);
+            }
+        }
+
+        if (autoRevive) {
+            List<Player> nearby = nearbyPlayers;
+            player.serverLevel().getEntities(EntityType.PLAYER, bleeder.searchArea(maxDistance),
+                    AUTO_HELPER_CANDIDATE, nearby);
+            try {
+                for (int i = 0; i < nearby.size(); i++) {
+                    Player other = nearby.get(i);
+                    if (isInReviveRange(player, other, maxDistSq)
+                            && !helperTargets.containsKey(other.getId())
+                            && !isBleeding(other)) {
+                        addHelper(player, other);
+                    }
+                }
+            } finally {
+                nearby.clear();
             }
         }
     }
 
+    private static boolean isInReviveRange(ServerPlayer target, Player other, double maxDistSq) {
+        return other != target && other.isAlive() && !other.isSpectator()
+                && target.distanceToSqr(other) <= maxDistSq;
+    }
+
+    /**
+     * Remove all of a player's helpers from the reverse index.
+     * Called before the helper list is cleared on revive or death.
+     */
+    private static void unindexHelpers(Player target, IBleeding bleeding) {
+        UUID targetId = target.getUUID();
+        for (int i = 0; i < bleeding.getHelperCount(); i++) {
+            helperTargets.remove(bleeding.getHelperId(i), targetId);
+        }
+    }
+
     /**
      * Sync bleeding state to all tracking clients.
+     * Only fields that clients cannot extrapolate from the last sync are sent.
      *
      * @param player the player whose state to sync
      */
@@ -252,26 +616,274 @@ public final class BleedingManager {
             return;
         }
 
-        IBleeding bleeding = getBleeding(player);
-        if (bleeding == null) {
-            return;
+        ActiveBleeder bleeder = activeBleeders.get(player.getUUID());
+        if (bleeder != null) {
+            bleeder.sync();
+        } else {
+            NetworkHandler.queueToTrackingAndSelf(serverPlayer, BleedingUpdatePacket.stopped(player.getId()));
+        }
+    }
+
+    /**
+     * Send the full bleeding state of a downed player to one client.
+     * Called when a client starts tracking the player, or for the player's own
+     * client after joining or changing dimension. There is no periodic sync;
+     * everything else is sent when it changes.
+     *
+     * @param target    the possibly downed player
+     * @param recipient the client to inform
+     */
+    public static void sendFullState(Player target, ServerPlayer recipient) {
+        ActiveBleeder bleeder = activeBleeders.get(target.getUUID());
+        if (bleeder != null && bleeder.player == target) {
+            NetworkHandler.queue(recipient, bleeder.buildFullState());
+        }
+    }
+
+    /**
+     * A registered downed player and the scheduler timers that drive them.
+     */
+    private static final class ActiveBleeder {
+        private final UUID id;
+        private final int entityId;
+        private final ServerPlayer player; // null when detached
+        private final BleedingData data;
+        private final Runnable detachedEnd;
+        private final boolean journalled;
+        private final BleedingScheduler.Timer expiryTimer = new BleedingScheduler.Timer(this::onExpiry);
+        private final BleedingScheduler.Timer helperTimer = new BleedingScheduler.Timer(this::onHelperCheck);
+        private final BleedingScheduler.Timer effectTimer = new BleedingScheduler.Timer(this::onEffectRefresh);
+
+        // Auto-helper search area, rebuilt when the player changes block or the revive distance changes
+        private AABB searchArea = null;
+        private BlockPos searchCenter = null;
+        private double searchRadius = 0.0;
+
+        // Last snapshot sent to clients; deltas are computed against its extrapolation
+        private long sentTick = 0;
+        private int sentTimeLeft = -1;
+        private int sentProgress = -1;
+        private int sentBleedRate = -1;
+        private float sentReviveRate = Float.NaN;
+
+        private ActiveBleeder(UUID id, int entityId, ServerPlayer player, BleedingData data, Runnable detachedEnd) {
+            this.id = id;
+            this.entityId = entityId;
+            this.player = player;
+            this.data = data;
+            this.detachedEnd = detachedEnd;
+            this.journalled = isJournalled(player);
         }
 
-        BleedingUpdatePacket packet = new BleedingUpdatePacket(
-                player.getUUID(),
-                bleeding.isBleeding(),
-                bleeding.getTimeLeft(),
-                bleeding.getReviveProgress()
-        );
+        private void start() {
+            data.setDeadlineListener(this::onDeadlineChanged);
+            scheduleExpiry();
+            scheduleHelperCheck();
+            if (player != null) {
+                scheduleEffectRefresh(data.maintainBleedingEffects(player));
+            }
+        }
+
+        private void stop() {
+            data.setDeadlineListener(null);
+            BleedingScheduler.cancel(expiryTimer);
+            BleedingScheduler.cancel(helperTimer);
+            BleedingScheduler.cancel(effectTimer);
+        }
+
+        /**
+         * The rates changed: re-arm the expiry timer, journal the new segment and
+         * tell clients, whose extrapolation is now wrong.
+         */
+        private void onDeadlineChanged() {
+            scheduleExpiry();
+            if (journalled) {
+                BleedingJournal.recordState(id, data);
+            }
+            sync();
+        }
+
+        /**
+         * Queue an update for the player and everyone tracking them, if clients predict the state wrongly.
+         */
+        private void sync() {
+            BleedingUpdatePacket packet = buildUpdate();
+            if (packet != null && player != null) {
+                NetworkHandler.queueToTrackingAndSelf(player, packet);
+            }
+        }
+
+        /**
+         * Re-arm the expiry timer at the earliest of the revive, bleed-out and progress reset deadlines.
+         */
+        private void scheduleExpiry() {
+            long due = Math.min(Math.min(data.getReviveTick(), data.getBleedOutTick()), data.getProgressResetTick());
+            if (due == Long.MAX_VALUE) {
+                BleedingScheduler.cancel(expiryTimer);
+            } else {
+                BleedingScheduler.schedule(expiryTimer, due);
+            }
+        }
+
+        /**
+         * Build an update containing only the fields that differ from what clients
+         * extrapolate from the last update.
+         *
+         * The first update after registration carries every field.
+         *
+         * @return the update, or null if clients already predict the current state
+         */
+        private BleedingUpdatePacket buildUpdate() {
+            float required = data.getRequiredReviveProgress();
+            int timeLeft = data.getTimeLeft();
+            int progress = BleedingUpdatePacket.quantizeProgress(data.getReviveProgress(), required);
+            int bleedRate = data.getBleedRate();
+            float reviveRate = data.getReviveRate() / required;
+
+            long now = BleedingScheduler.currentTick();
+            long elapsed = now - sentTick;
+            long predictedTime = Math.max(0L, sentTimeLeft - (long) sentBleedRate * elapsed);
+            int predictedProgress = BleedingUpdatePacket.quantizeProgress(
+                    (float) sentProgress / BleedingUpdatePacket.MAX_PROGRESS + sentReviveRate * elapsed, 1.0f);
+
+            int fields = BleedingUpdatePacket.FLAG_BLEEDING;
+            if (sentBleedRate < 0) {
+                fields |= BleedingUpdatePacket.ALL_FIELDS;
+            }
+            if (timeLeft != predictedTime) {
+                fields |= BleedingUpdatePacket.FIELD_TIME;
+            }
+            if (Math.abs(progress - predictedProgress) > 1) {
+                fields |= BleedingUpdatePacket.FIELD_PROGRESS;
+            }
+            if (bleedRate != sentBleedRate || reviveRate != sentReviveRate) {
+                fields |= BleedingUpdatePacket.FIELD_RATES;
+            }
+            if (fields == BleedingUpdatePacket.FLAG_BLEEDING) {
+                return null;
+            }
+
+            // Fields that were not sent are still correct in the client's extrapolation
+            sentTick = now;
+            sentTimeLeft = timeLeft;
+            sentProgress = progress;
+            sentBleedRate = bleedRate;
+            sentReviveRate = reviveRate;
+            return new BleedingUpdatePacket(entityId, fields, now, timeLeft, progress, bleedRate, reviveRate);
+        }
+
+        /**
+         * Build an update with every field, for a client that has no state for this player yet.
+         */
+        private BleedingUpdatePacket buildFullState() {
+            float required = data.getRequiredReviveProgress();
+            return new BleedingUpdatePacket(
+                    entityId,
+                    BleedingUpdatePacket.FLAG_BLEEDING | BleedingUpdatePacket.ALL_FIELDS,
+                    BleedingScheduler.currentTick(),
+                    data.getTimeLeft(),
+                    BleedingUpdatePacket.quantizeProgress(data.getReviveProgress(), required),
+                    data.getBleedRate(),
+                    data.getReviveRate() / required
+            );
+        }
+
+        private void scheduleHelperCheck() {
+            if (helperTimer.isScheduled()) {
+                return;
+            }
+            TacticalReviveConfig.Snapshot config = TacticalReviveConfig.get();
+            if (data.getHelperCount() == 0 && !config.shouldAutoReviveWhenCrouching()) {
+                return;
+            }
+            BleedingScheduler.schedule(helperTimer, BleedingScheduler.currentTick() + config.getHelperCheckInterval());
+        }
+
+        /**
+         * @return a box around the player's block holding everyone within {@code radius} of the player
+         */
+        private AABB searchArea(double radius) {
+            BlockPos center = player.blockPosition();
+            if (searchArea == null || !center.equals(searchCenter) || radius != searchRadius) {
+                searchArea = new AABB(center).inflate(radius + 1.0);
+                searchCenter = center;
+                searchRadius = radius;
+            }
+            return searchArea;
+        }
+
+        private void scheduleEffectRefresh(long due) {
+            if (due == Long.MAX_VALUE) {
+                BleedingScheduler.cancel(effectTimer);
+            } else {
+                BleedingScheduler.schedule(effectTimer, due);
+            }
+        }
+
+        private void onExpiry() {
+            // Revive takes priority when both deadlines land on the same tick
+            switch (data.advance()) {
+                case REVIVE_DUE -> {
+                    if (player != null) {
+                        revive(player);
+                    } else {
+                        detachedEnd.run();
+                    }
+                }
+                case BLED_OUT -> {
+                    if (player != null) {
+                        kill(player);
+                    } else {
+                        detachedEnd.run();
+                    }
+                }
+                case NONE -> scheduleExpiry();
+            }
+        }
 
-        NetworkHandler.sendToTracking(serverPlayer, packet);
-        NetworkHandler.sendToPlayer(serverPlayer, packet);
+        private void onHelperCheck() {
+            if (player != null) {
+                refreshHelpers(this);
+            }
+            if (activeBleeders.get(id) == this) {
+                scheduleHelperCheck();
+            }
+        }
+
+        private void onEffectRefresh() {
+            scheduleEffectRefresh(data.maintainBleedingEffects(player));
+        }
     }
 
     /**
      * Interface for accessing bleeding data via Mixin.
+     * Players only hold their own data while downed or restored as downed.
      */
     public interface IBleedingAccessor {
+        /**
+         * @return the player's bleeding data, or null while healthy
+         */
         BleedingData tacticalrevive$getBleedingData();
+
+        /**
+         * @return the player's bleeding data, created if needed
+         */
+        BleedingData tacticalrevive$getOrCreateBleedingData();
+
+        /**
+         * Drop the player's bleeding data once they are no longer downed.
+         */
+        void tacticalrevive$releaseBleedingData();
+    }
+
+    /**
+     * Interface for the cached downed flag stored on living entities via Mixin.
+     * Kept in step with the active bleeder registry so hot hooks can test a
+     * single field instead of looking up bleeding data.
+     */
+    public interface IDownedFlag {
+        boolean tacticalrevive$isDowned();
+
+        void tacticalrevive$setDowned(boolean downed);
     }
 }
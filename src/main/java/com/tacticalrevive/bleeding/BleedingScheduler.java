@@ -0,0 +1,184 @@
+package com.tacticalrevive.bleeding;
+
+import com.tacticalrevive.TacticalRevive;
+
+import java.util.Arrays;
+
+/**
+ * Hashed timer wheel keyed by absolute game tick.
+ * Holds bleed-out, revive and maintenance deadlines for downed players so that
+ * nothing has to be polled per tick; advancing the clock only visits the wheel
+ * slot for the current tick.
+ *
+ * <p>Timers are reusable objects owned by their caller. Rescheduling or cancelling
+ * a timer never allocates: stale wheel entries are discarded lazily when their
+ * slot comes up.
+ */
+public final class BleedingScheduler {
+
+    private static final int WHEEL_SIZE = 256; // must be a power of two
+    private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+    private static final int INITIAL_SLOT_CAPACITY = 4;
+
+    private static final Timer[][] slotTimers = new Timer[WHEEL_SIZE][];
+    private static final long[][] slotDueTicks = new long[WHEEL_SIZE][];
+    private static final int[] slotSizes = new int[WHEEL_SIZE];
+
+    private static long currentTick = 0;
+    private static boolean started = false;
+
+    private BleedingScheduler() {
+        // Utility class
+    }
+
+    /**
+     * @return the game tick the scheduler was last advanced to
+     */
+    public static long currentTick() {
+        return currentTick;
+    }
+
+    /**
+     * Schedule a timer, replacing any pending deadline it already has.
+     * Deadlines at or before the current tick fire on the next advance.
+     *
+     * @param timer    the timer to schedule
+     * @param dueTick  absolute game tick at which the timer fires
+     */
+    public static void schedule(Timer timer, long dueTick) {
+        if (dueTick <= currentTick) {
+            dueTick = currentTick + 1;
+        }
+        if (timer.scheduled && timer.dueTick == dueTick) {
+            return;
+        }
+
+        timer.scheduled = true;
+        timer.dueTick = dueTick;
+
+        int slot = (int) (dueTick & WHEEL_MASK);
+        int size = slotSizes[slot];
+        Timer[] timers = slotTimers[slot];
+        if (timers == null) {
+            timers = new Timer[INITIAL_SLOT_CAPACITY];
+            slotTimers[slot] = timers;
+            slotDueTicks[slot] = new long[INITIAL_SLOT_CAPACITY];
+        } else if (size == timers.length) {
+            timers = Arrays.copyOf(timers, size * 2);
+            slotTimers[slot] = timers;
+            slotDueTicks[slot] = Arrays.copyOf(slotDueTicks[slot], size * 2);
+        }
+        timers[size] = timer;
+        slotDueTicks[slot][size] = dueTick;
+        slotSizes[slot] = size + 1;
+    }
+
+    /**
+     * Cancel a timer. Its wheel entry is discarded when the slot is next visited.
+     *
+     * @param timer the timer to cancel
+     */
+    public static void cancel(Timer timer) {
+        timer.scheduled = false;
+    }
+
+    /**
+     * Advance the clock and fire every timer that is due.
+     * The first call only sets the clock.
+     *
+     * @param tick the current absolute game tick
+     */
+    public static void advanceTo(long tick) {
+        if (!started) {
+            currentTick = tick;
+            started = true;
+            return;
+        }
+        if (tick <= currentTick) {
+            return;
+        }
+
+        long from = currentTick + 1;
+        currentTick = tick;
+
+        // One pass over the wheel covers every slot, however far the clock jumped
+        long last = Math.min(tick, from + WHEEL_SIZE - 1);
+        for (long t = from; t <= last; t++) {
+            fireDue((int) (t & WHEEL_MASK));
+        }
+    }
+
+    /**
+     * Drop every pending timer and reset the clock.
+     * Called when the server stops.
+     */
+    public static void clear() {
+        for (int slot = 0; slot < WHEEL_SIZE; slot++) {
+            Timer[] timers = slotTimers[slot];
+            for (int i = 0; i < slotSizes[slot]; i++) {
+                timers[i].scheduled = false;
+                timers[i] = null;
+            }
+            slotSizes[slot] = 0;
+        }
+        currentTick = 0;
+        started = false;
+    }
+
+    private static void fireDue(int slot) {
+        Timer[] timers = slotTimers[slot];
+        long[] dueTicks = slotDueTicks[slot];
+        int i = 0;
+
+        while (i < slotSizes[slot]) {
+            Timer timer = timers[i];
+            long due = dueTicks[i];
+            boolean live = timer.scheduled && timer.dueTick == due;
+
+            if (live && due > currentTick) {
+                // Belongs to a later revolution of the wheel
+                i++;
+                continue;
+            }
+
+            // Swap-remove before firing; callbacks may schedule into this slot
+            int lastIndex = slotSizes[slot] - 1;
+            timers[i] = timers[lastIndex];
+            dueTicks[i] = dueTicks[lastIndex];
+            timers[lastIndex] = null;
+            slotSizes[slot] = lastIndex;
+
+            if (live) {
+                timer.scheduled = false;
+                try {
+                    timer.action.run();
+                } catch (Exception e) {
+                    TacticalRevive.LOGGER.error("Bleeding timer failed", e);
+                }
+                // A callback may have grown the slot arrays
+                timers = slotTimers[slot];
+                dueTicks = slotDueTicks[slot];
+            }
+        }
+    }
+
+    /**
+     * A reusable deadline with a fixed action.
+     */
+    public static final class Timer {
+        private final Runnable action;
+        private boolean scheduled = false;
+        private long dueTick = 0;
+
+        public Timer(Runnable action) {
+            this.action = action;
+        }
+
+        /**
+         * @return true if the timer has a pending deadline
+         */
+        public boolean isScheduled() {
+            return scheduled;
+        }
+    }
+}
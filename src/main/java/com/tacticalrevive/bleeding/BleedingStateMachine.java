@@ -0,0 +1,442 @@
+package com.tacticalrevive.bleeding;
+
+import java.util.UUID;
+
+/**
+ * The rules of the downed state, independent of Minecraft.
+ *
+ * <p>Inputs are abstract: the current tick, helpers joining and leaving, and
+ * damage checks. Time left and revive progress change linearly between helper
+ * changes, so they are stored as a segment start plus per-tick rates rather
+ * than being ticked. Every state change is reported to a {@link Listener};
+ * side effects on the player are left to the caller.
+ */
+public final class BleedingStateMachine {
+
+    /**
+     * A state change reported to the listener.
+     */
+    public enum Transition {
+        /** Entered the downed state. */
+        KNOCKED_OUT,
+        /** The bleed-out or revive deadline moved. */
+        DEADLINE_CHANGED,
+        /** Revival completed; the state has been cleared. */
+        REVIVED,
+        /** The state was cleared without a revival. */
+        RESET
+    }
+
+    /**
+     * What is due at a given tick.
+     */
+    public enum Outcome {
+        /** Still downed, nothing due. */
+        NONE,
+        /** Revive progress is complete. */
+        REVIVE_DUE,
+        /** Bleed time has run out. */
+        BLED_OUT
+    }
+
+    /**
+     * Receives state changes.
+     */
+    @FunctionalInterface
+    public interface Listener {
+        void onTransition(Transition transition);
+    }
+
+    /**
+     * The tunables that drive the state machine, captured when a player is knocked out.
+     *
+     * @param bleedingTime           ticks until bleed-out without helpers
+     * @param initialDamageCooldown  ticks after knockout during which damage is absorbed
+     * @param requiredReviveProgress progress needed for revival
+     * @param progressPerHelper      progress gained per helper per tick
+     * @param haltBleedTime          whether bleed time stops while helpers are present
+     * @param resetProgress          whether progress resets once a tick passes without helpers
+     */
+    public record Rules(
+            int bleedingTime,
+            int initialDamageCooldown,
+            float requiredReviveProgress,
+            float progressPerHelper,
+            boolean haltBleedTime,
+            boolean resetProgress
+    ) {
+    }
+
+    private Rules rules = null;
+    private Listener listener = null;
+
+    private boolean bleeding = false;
+    private final HelperSet helpers = new HelperSet();
+
+    // Absolute ticks
+    private long knockedOutAt = 0;
+    private long damageCooldownEndsAt = 0;
+
+    // Paused (not running) between loading saved state and the player joining
+    private boolean running = false;
+    private long segmentStart = 0;
+    private int segmentTimeLeft = 0;
+    private float segmentProgress = 0.0f;
+    private int bleedRate = 0;
+    private float reviveRate = 0.0f;
+
+    // Bumped whenever the persisted state changes; time passing alone does not count
+    private int modCount = 0;
+
+    public void setListener(Listener listener) {
+        this.listener = listener;
+    }
+
+    public boolean isBleeding() {
+        return bleeding;
+    }
+
+    /**
+     * @return a counter that changes whenever anything but the clock changes the state
+     */
+    public int getModCount() {
+        return modCount;
+    }
+
+    public long getKnockedOutAt() {
+        return knockedOutAt;
+    }
+
+    /**
+     * @return tick at which the current segment started; time left and progress
+     *         change linearly from there at {@link #getBleedRate()} and {@link #getReviveRate()}
+     */
+    public long getSegmentStart() {
+        return segmentStart;
+    }
+
+    public int getSegmentTimeLeft() {
+        return segmentTimeLeft;
+    }
+
+    public float getSegmentProgress() {
+        return segmentProgress;
+    }
+
+    public int getTimeLeft(long now) {
+        long timeLeft = segmentTimeLeft - bleedRate * elapsed(now);
+        return (int) Math.max(0, timeLeft);
+    }
+
+    public float getReviveProgress(long now) {
+        if (isProgressResetPending() && now > segmentStart) {
+            return 0.0f;
+        }
+        return segmentProgress + reviveRate * elapsed(now);
+    }
+
+    public int getDownedTime(long now) {
+        return bleeding ? (int) (now - knockedOutAt) : 0;
+    }
+
+    public boolean isInDamageCooldown(long now) {
+        return now < damageCooldownEndsAt;
+    }
+
+    public boolean hasBledOut(long now) {
+        return bleeding && getTimeLeft(now) <= 0;
+    }
+
+    /**
+     * @return progress needed for revival under the rules captured at knockout, 1 when not downed
+     */
+    public float getRequiredReviveProgress() {
+        return rules != null ? rules.requiredReviveProgress() : 1.0f;
+    }
+
+    public boolean canBeRevived(long now) {
+        return bleeding && getReviveProgress(now) >= rules.requiredReviveProgress();
+    }
+
+    /**
+     * @return ticks of bleed time lost per tick, 0 while halted by helpers or paused
+     */
+    public int getBleedRate() {
+        return running ? bleedRate : 0;
+    }
+
+    /**
+     * @return revive progress gained per tick, 0 while paused
+     */
+    public float getReviveRate() {
+        return running ? reviveRate : 0.0f;
+    }
+
+    /**
+     * @return absolute tick at which bleed time runs out, or {@link Long#MAX_VALUE} if paused
+     */
+    public long getBleedOutTick() {
+        if (!running || bleedRate == 0) {
+            return Long.MAX_VALUE;
+        }
+        return segmentStart + segmentTimeLeft;
+    }
+
+    /**
+     * @return absolute tick at which revive progress completes, or {@link Long#MAX_VALUE} without helpers
+     */
+    public long getReviveTick() {
+        if (!running || reviveRate <= 0) {
+            return Long.MAX_VALUE;
+        }
+        double remaining = rules.requiredReviveProgress() - segmentProgress;
+        return segmentStart + Math.max(0L, (long) Math.ceil(remaining / reviveRate));
+    }
+
+    /**
+     * @return absolute tick at which progress left without helpers is reset, or {@link Long#MAX_VALUE}
+     */
+    public long getProgressResetTick() {
+        return isProgressResetPending() ? segmentStart + 1 : Long.MAX_VALUE;
+    }
+
+    public int getHelperCount() {
+        return helpers.size();
+    }
+
+    /**
+     * @return entity id of the helper at an index, or {@link HelperSet#UNRESOLVED}
+     */
+    public int getHelperId(int index) {
+        return helpers.idAt(index);
+    }
+
+    public UUID getHelperUuid(int index) {
+        return helpers.uuidAt(index);
+    }
+
+    /**
+     * Enter the downed state.
+     *
+     * @param now   the current tick
+     * @param rules the rules to apply until the state ends
+     */
+    public void knockOut(long now, Rules rules) {
+        this.rules = rules;
+        this.bleeding = true;
+        this.knockedOutAt = now;
+        this.damageCooldownEndsAt = now + rules.initialDamageCooldown();
+        this.helpers.clear();
+
+        this.running = true;
+        this.segmentStart = now;
+        this.segmentTimeLeft = rules.bleedingTime();
+        this.segmentProgress = 0.0f;
+        emit(Transition.KNOCKED_OUT);
+        updateRates();
+    }
+
+    /**
+     * Load a saved downed state. The state stays paused until {@link #resume}.
+     *
+     * @param now          the current tick
+     * @param rules        the rules to apply
+     * @param timeLeft     saved bleed time left
+     * @param reviveProgress saved revive progress
+     * @param downedTime   saved ticks spent downed
+     * @param savedHelpers saved helpers, added with an {@link HelperSet#UNRESOLVED} id
+     */
+    public void restore(long now, Rules rules, int timeLeft, float reviveProgress, int downedTime,
+                        UUID[] savedHelpers) {
+        reset();
+        this.rules = rules;
+        this.bleeding = true;
+        // A paused segment starts at the restore, so the saved downed time can be recovered from it
+        this.segmentStart = now;
+        this.segmentTimeLeft = timeLeft;
+        this.segmentProgress = reviveProgress;
+        this.knockedOutAt = now - downedTime;
+        this.damageCooldownEndsAt = knockedOutAt + rules.initialDamageCooldown();
+        for (UUID helper : savedHelpers) {
+            this.helpers.add(HelperSet.UNRESOLVED, helper);
+        }
+        modCount++;
+    }
+
+    /**
+     * Start the clock on a restored state.
+     *
+     * @param now the current tick
+     */
+    public void resume(long now) {
+        if (!bleeding) {
+            return;
+        }
+        this.running = true;
+        this.segmentStart = now;
+        updateRates();
+    }
+
+    /**
+     * @param helperId   entity id of the helper
+     * @param helperUuid UUID of the helper, kept for persistence
+     * @return true if the helper was added
+     */
+    public boolean addHelper(int helperId, UUID helperUuid, long now) {
+        if (!bleeding || helpers.contains(helperId)) {
+            return false;
+        }
+        rebase(now);
+        helpers.add(helperId, helperUuid);
+        updateRates();
+        return true;
+    }
+
+    /**
+     * @param helperId entity id of the helper
+     * @return true if the helper was removed
+     */
+    public boolean removeHelper(int helperId, long now) {
+        if (!helpers.contains(helperId)) {
+            return false;
+        }
+        rebase(now);
+        helpers.remove(helperId);
+        updateRates();
+        return true;
+    }
+
+    /**
+     * Remove the helper at an index. Helpers after it may move; iterate backwards.
+     */
+    public void removeHelperAt(int index, long now) {
+        rebase(now);
+        helpers.removeAt(index);
+        updateRates();
+    }
+
+    /**
+     * Attach an entity id to a helper restored from saved data.
+     */
+    public void resolveHelper(int index, int helperId) {
+        helpers.setIdAt(index, helperId);
+    }
+
+    /**
+     * Run the bleed time out immediately.
+     *
+     * @param now the current tick
+     */
+    public void forceBledOut(long now) {
+        rebase(now);
+        this.segmentTimeLeft = 0;
+        modCount++;
+        if (running) {
+            emit(Transition.DEADLINE_CHANGED);
+        }
+    }
+
+    /**
+     * @param now the current tick
+     * @return what is due at {@code now}; revival wins if both are due
+     */
+    public Outcome advance(long now) {
+        if (!bleeding || !running) {
+            return Outcome.NONE;
+        }
+        if (canBeRevived(now)) {
+            return Outcome.REVIVE_DUE;
+        }
+        if (hasBledOut(now)) {
+            return Outcome.BLED_OUT;
+        }
+        if (isProgressResetPending() && now > segmentStart) {
+            // A tick passed without helpers; folding the segment drops the progress
+            rebase(now);
+            modCount++;
+            emit(Transition.DEADLINE_CHANGED);
+        }
+        return Outcome.NONE;
+    }
+
+    /**
+     * Complete revival and clear the state.
+     */
+    public void revive() {
+        clear();
+        emit(Transition.REVIVED);
+    }
+
+    /**
+     * Clear the state.
+     */
+    public void reset() {
+        clear();
+        emit(Transition.RESET);
+    }
+
+    private void clear() {
+        modCount++;
+        this.rules = null;
+        this.bleeding = false;
+        this.helpers.clear();
+        this.knockedOutAt = 0;
+        this.damageCooldownEndsAt = 0;
+        this.running = false;
+        this.segmentStart = 0;
+        this.segmentTimeLeft = 0;
+        this.segmentProgress = 0.0f;
+        this.bleedRate = 0;
+        this.reviveRate = 0.0f;
+    }
+
+    private long elapsed(long now) {
+        return running ? now - segmentStart : 0;
+    }
+
+    /**
+     * Fold the elapsed part of the current segment into its start values.
+     */
+    private void rebase(long now) {
+        if (!running) {
+            return;
+        }
+        this.segmentTimeLeft = getTimeLeft(now);
+        this.segmentProgress = getReviveProgress(now);
+        this.segmentStart = now;
+    }
+
+    /**
+     * Recompute per-tick rates from the current helper count.
+     */
+    private void updateRates() {
+        modCount++;
+        int helperCount = helpers.size();
+        if (helperCount > 0) {
+            // Progress based on helper count, optionally halting bleed time while being revived
+            this.reviveRate = helperCount * rules.progressPerHelper();
+            this.bleedRate = rules.haltBleedTime() ? 0 : 1;
+        } else {
+            // No helpers - countdown continues
+            // Progress is only reset once a tick passes like this, so swapping helpers keeps it
+            this.reviveRate = 0.0f;
+            this.bleedRate = 1;
+        }
+        if (running) {
+            emit(Transition.DEADLINE_CHANGED);
+        }
+    }
+
+    /**
+     * @return true if progress is held without helpers and will be reset once a tick passes
+     */
+    private boolean isProgressResetPending() {
+        return running && helpers.isEmpty() && rules.resetProgress() && segmentProgress > 0.0f;
+    }
+
+    private void emit(Transition transition) {
+        if (listener != null) {
+            listener.onTransition(transition);
+        }
+    }
+}
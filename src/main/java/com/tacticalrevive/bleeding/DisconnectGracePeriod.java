@@ -0,0 +1,173 @@
+package com.tacticalrevive.bleeding;
+
+import com.tacticalrevive.TacticalRevive;
+import com.tacticalrevive.config.TacticalReviveConfig;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Downed players who disconnected and may still reconnect.
+ *
+ * <p>Instead of dying the moment their connection drops, downed players are held
+ * here with a snapshot of their state for {@code disconnectGracePeriod} ticks.
+ * Reconnecting within the window resumes the snapshot; when the window closes a
+ * scheduler timer records the bleed-out, and the death path runs when they next
+ * join. The store holds at most {@code maxDisconnectedBleeders} players: when it
+ * is full, the player held longest bleeds out early to make room.
+ *
+ * <p>Each hold is journalled with its absolute deadline, so a restart does not
+ * reopen the window: players whose deadline passed before the server stopped
+ * have bled out, and the rest are held again for what was left of theirs. The
+ * deadline is also saved with the player, so a player whose hold or bleed-out
+ * the journal lost is still killed if they rejoin after it.
+ */
+public final class DisconnectGracePeriod {
+
+    // Insertion order is expiry order: every hold uses the same window, and resumed holds come first
+    private static final Map<UUID, Held> held = new LinkedHashMap<>();
+
+    private DisconnectGracePeriod() {
+        // Utility class
+    }
+
+    /**
+     * Snapshot of a disconnected downed player.
+     *
+     * @param timeLeft       bleed time left when they disconnected
+     * @param reviveProgress revive progress when they disconnected
+     * @param downedTime     ticks spent downed when they disconnected
+     */
+    public record Snapshot(int timeLeft, float reviveProgress, int downedTime) {
+    }
+
+    /**
+     * @return true if disconnected downed players are held instead of killed
+     */
+    public static boolean isEnabled() {
+        return TacticalReviveConfig.getDisconnectGracePeriod() > 0;
+    }
+
+    /**
+     * Hold a disconnected downed player until they reconnect or the grace period ends.
+     *
+     * @param playerId the disconnected player
+     * @param snapshot their downed state at disconnect
+     * @return game tick at which the grace period ends
+     */
+    public static long hold(UUID playerId, Snapshot snapshot) {
+        return hold(playerId, snapshot, TacticalReviveConfig.getDisconnectGracePeriod());
+    }
+
+    /**
+     * Hold the players the journal recovered as held, for what was left of their window.
+     * Called once the journal is open, before any player joins.
+     */
+    public static void resume() {
+        List<Map.Entry<UUID, Integer>> holds = new ArrayList<>(BleedingJournal.takeRecoveredHolds().entrySet());
+        holds.sort(Map.Entry.comparingByValue());
+        for (Map.Entry<UUID, Integer> entry : holds) {
+            BleedingJournal.Recovered recovered = BleedingJournal.takeRecovered(entry.getKey());
+            if (recovered == null || recovered.status() != BleedingJournal.Status.DOWNED) {
+                continue;
+            }
+            hold(entry.getKey(), new Snapshot(recovered.timeLeft(), recovered.reviveProgress(),
+                    recovered.downedTime()), entry.getValue());
+        }
+        if (!holds.isEmpty()) {
+            TacticalRevive.LOGGER.info("Holding {} disconnected downed players from before the restart", held.size());
+        }
+    }
+
+    /**
+     * Record every held player in the journal again. Called while the journal is being compacted.
+     */
+    public static void recordAll() {
+        for (Held entry : held.values()) {
+            BleedingJournal.recordHeld(entry.playerId, entry.snapshot, entry.deadline);
+        }
+    }
+
+    private static long hold(UUID playerId, Snapshot snapshot, int ticks) {
+        Held previous = held.remove(playerId);
+        if (previous != null) {
+            BleedingScheduler.cancel(previous.timer);
+        }
+
+        int capacity = TacticalReviveConfig.getMaxDisconnectedBleeders();
+        Iterator<Held> oldest = held.values().iterator();
+        while (held.size() >= capacity && oldest.hasNext()) {
+            Held evicted = oldest.next();
+            oldest.remove();
+            BleedingScheduler.cancel(evicted.timer);
+            bleedOut(evicted.playerId);
+        }
+
+        Held entry = new Held(playerId, snapshot, BleedingScheduler.currentTick() + ticks);
+        held.put(playerId, entry);
+        BleedingScheduler.schedule(entry.timer, entry.deadline);
+        BleedingJournal.recordHeld(playerId, snapshot, entry.deadline);
+        return entry.deadline;
+    }
+
+    /**
+     * Release a reconnecting player from the grace period.
+     *
+     * @param playerId the reconnecting player
+     * @return their snapshot, or null if they were not held
+     */
+    public static Snapshot take(UUID playerId) {
+        Held entry = held.remove(playerId);
+        if (entry == null) {
+            return null;
+        }
+        BleedingScheduler.cancel(entry.timer);
+        return entry.snapshot;
+    }
+
+    /**
+     * @return number of disconnected players currently held
+     */
+    public static int size() {
+        return held.size();
+    }
+
+    /**
+     * Drop every held player. Called when the server stops; the journal keeps
+     * their deadlines, so they are held again by {@link #resume} on the next start.
+     */
+    public static void clear() {
+        for (Held entry : held.values()) {
+            BleedingScheduler.cancel(entry.timer);
+        }
+        held.clear();
+    }
+
+    private static void bleedOut(UUID playerId) {
+        BleedingJournal.recordBledOut(playerId);
+        TacticalRevive.LOGGER.debug("Disconnected player {} bled out", playerId);
+    }
+
+    private static final class Held {
+        private final UUID playerId;
+        private final Snapshot snapshot;
+        private final long deadline;
+        private final BleedingScheduler.Timer timer = new BleedingScheduler.Timer(this::onExpiry);
+
+        private Held(UUID playerId, Snapshot snapshot, long deadline) {
+            this.playerId = playerId;
+            this.snapshot = snapshot;
+            this.deadline = deadline;
+        }
+
+        private void onExpiry() {
+            if (held.remove(playerId, this)) {
+                bleedOut(playerId);
+            }
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.tacticalrevive.bleeding;
+
+import java.util.Arrays;
+import java.util.UUID;
+
+/**
+ * Small set of revive helpers keyed by entity network id.
+ *
+ * <p>Ids are stored in a packed {@code int[]} and scanned linearly; a downed
+ * player rarely has more than a handful of helpers, so this beats hashing.
+ * UUIDs are kept in a parallel array only so the set can be persisted.
+ * Iterate by index with {@link #size()}, {@link #idAt} and {@link #uuidAt};
+ * removal swaps the last entry in, so iterate backwards when removing.
+ */
+public final class HelperSet {
+
+    /** Id of a helper restored from saved data whose entity has not been found yet. */
+    public static final int UNRESOLVED = -1;
+
+    private static final int INITIAL_CAPACITY = 4;
+
+    private int[] ids = new int[INITIAL_CAPACITY];
+    private UUID[] uuids = new UUID[INITIAL_CAPACITY];
+    private int size = 0;
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int idAt(int index) {
+        return ids[index];
+    }
+
+    public UUID uuidAt(int index) {
+        return uuids[index];
+    }
+
+    public boolean contains(int id) {
+        return indexOf(id) >= 0;
+    }
+
+    /**
+     * @return true if the helper was not already present
+     */
+    public boolean add(int id, UUID uuid) {
+        if (id != UNRESOLVED && indexOf(id) >= 0) {
+            return false;
+        }
+        if (size == ids.length) {
+            ids = Arrays.copyOf(ids, size * 2);
+            uuids = Arrays.copyOf(uuids, size * 2);
+        }
+        ids[size] = id;
+        uuids[size] = uuid;
+        size++;
+        return true;
+    }
+
+    /**
+     * @return true if the helper was present
+     */
+    public boolean remove(int id) {
+        int index = indexOf(id);
+        if (index < 0) {
+            return false;
+        }
+        removeAt(index);
+        return true;
+    }
+
+    /**
+     * Remove the entry at an index, moving the last entry into its place.
+     */
+    public void removeAt(int index) {
+        int last = size - 1;
+        ids[index] = ids[last];
+        uuids[index] = uuids[last];
+        uuids[last] = null;
+        size = last;
+    }
+
+    /**
+     * Set the entity id of an entry, used when a restored helper is found again.
+     */
+    public void setIdAt(int index, int id) {
+        ids[index] = id;
+    }
+
+    public void clear() {
+        Arrays.fill(uuids, 0, size, null);
+        size = 0;
+    }
+
+    private int indexOf(int id) {
+        for (int i = 0; i < size; i++) {
+            if (ids[i] == id) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -1,6 +1,5 @@
 package com.tacticalrevive.client;
 
-import com.tacticalrevive.config.TacticalReviveConfig;
 import net.fabricmc.api.EnvType;
 import net.fabricmc.api.Environment;
 import net.minecraft.client.DeltaTracker;
@@ -32,17 +31,20 @@ public final class BleedingHudRenderer {
 
         // Check if local player is downed
         ClientBleedingState.BleedingStateData state =
-                ClientBleedingState.getState(client.player.getUUID());
+                ClientBleedingState.getState(client.player.getId());
 
         if (state == null) {
             return;
         }
 
-        renderDownedOverlay(graphics, client, state);
+        // Extrapolate from the last snapshot to the estimated server tick, so the HUD moves smoothly between updates
+        double time = ClientBleedingState.serverTimeAt(
+                client.level.getGameTime() + deltaTracker.getGameTimeDeltaPartialTick(true));
+        renderDownedOverlay(graphics, client, state.timeLeftAt(time), state.reviveProgressAt(time));
     }
 
     private static void renderDownedOverlay(GuiGraphics graphics, Minecraft client,
-                                             ClientBleedingState.BleedingStateData state) {
+                                             float timeLeft, float progress) {
         int screenWidth = client.getWindow().getGuiScaledWidth();
         int screenHeight = client.getWindow().getGuiScaledHeight();
 
@@ -58,7 +60,7 @@ public final class BleedingHudRenderer {
         graphics.drawString(client.font, statusText, centerX - statusWidth / 2, centerY - 50, 0xFF5555);
 
         // Time remaining
-        int totalSeconds = state.timeLeft() / 20;
+        int totalSeconds = (int) (timeLeft / 20);
         int minutes = totalSeconds / 60;
         int seconds = totalSeconds % 60;
         String timeText = String.format("%02d:%02d", minutes, seconds);
@@ -73,7 +75,6 @@ public final class BleedingHudRenderer {
         graphics.drawString(client.font, progressLabel, centerX - labelWidth / 2, centerY - 18, 0xAAAAAA);
 
         // Revive progress bar
-        float progress = state.reviveProgress() / TacticalReviveConfig.getRequiredReviveProgress();
         int barWidth = 100;
         int barHeight = 8;
         int barX = centerX - barWidth / 2;
@@ -1,46 +1,115 @@
 package com.tacticalrevive.client;
 
+import com.tacticalrevive.network.packet.BleedingUpdatePacket;
 import net.fabricmc.api.EnvType;
 import net.fabricmc.api.Environment;
 
 import java.util.Map;
-import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 
 /**
- * Client-side cache of bleeding states for all players.
+ * Client-side cache of bleeding states for all players, keyed by entity id.
+ *
+ * <p>Each entry is a snapshot stamped with the server tick it was valid at,
+ * plus the current bleed and revive rates, so values can be extrapolated per
+ * frame instead of waiting for the next update. Extrapolation runs against an
+ * estimate of the server's current tick: the newest stamp received, advanced by
+ * the client ticks since it arrived and half the round trip time, so the HUD
+ * does not run a network latency behind.
  */
 @Environment(EnvType.CLIENT)
 public final class ClientBleedingState {
 
-    private static final Map<UUID, BleedingStateData> states = new ConcurrentHashMap<>();
+    private static final Map<Integer, BleedingStateData> states = new ConcurrentHashMap<>();
+
+    private static final double MILLIS_PER_TICK = 50.0;
+
+    // Server clock estimate, updated from every stamped update
+    private static long clockServerTick = Long.MIN_VALUE;
+    private static long clockClientTick = 0;
+    private static double clockLeadTicks = 0.0;
 
     private ClientBleedingState() {
     }
 
+    /**
+     * Move the server clock estimate forward with a newly received stamp.
+     *
+     * @param serverTick    server tick the update was stamped with
+     * @param clientTick    client game time the update arrived at
+     * @param latencyMillis round trip time to the server
+     */
+    public static void syncClock(long serverTick, long clientTick, int latencyMillis) {
+        if (serverTick < clockServerTick) {
+            return;
+        }
+        clockServerTick = serverTick;
+        clockClientTick = clientTick;
+        clockLeadTicks = Math.max(0, latencyMillis) / 2.0 / MILLIS_PER_TICK;
+    }
+
+    /**
+     * Estimate the server tick at a client time.
+     *
+     * @param clientTime client game time, including partial ticks
+     * @return the estimated server tick, or {@code clientTime} before any stamp was received
+     */
+    public static double serverTimeAt(double clientTime) {
+        if (clockServerTick == Long.MIN_VALUE) {
+            return clientTime;
+        }
+        return clockServerTick + (clientTime - clockClientTick) + clockLeadTicks;
+    }
+
     /**
      * Update the bleeding state for a player.
+     * Fields missing from a delta update keep their values extrapolated to {@code serverTick}.
      */
-    public static void updateState(UUID playerUuid, boolean isBleeding, int timeLeft, float reviveProgress) {
-        if (isBleeding) {
-            states.put(playerUuid, new BleedingStateData(timeLeft, reviveProgress));
-        } else {
-            states.remove(playerUuid);
+    public static void updateState(int entityId, int fields, int timeLeft, int progress,
+                                   int bleedRate, float reviveRate, long serverTick) {
+        if ((fields & BleedingUpdatePacket.FLAG_BLEEDING) == 0) {
+            states.remove(entityId);
+            return;
         }
+
+        BleedingStateData previous = states.get(entityId);
+        if (previous == null) {
+            previous = new BleedingStateData(0, 0.0f, 1, 0.0f, serverTick);
+        }
+
+        states.put(entityId, new BleedingStateData(
+                (fields & BleedingUpdatePacket.FIELD_TIME) != 0
+                        ? timeLeft
+                        : Math.round(previous.timeLeftAt(serverTick)),
+                (fields & BleedingUpdatePacket.FIELD_PROGRESS) != 0
+                        ? (float) progress / BleedingUpdatePacket.MAX_PROGRESS
+                        : previous.reviveProgressAt(serverTick),
+                (fields & BleedingUpdatePacket.FIELD_RATES) != 0 ? bleedRate : previous.bleedRate(),
+                (fields & BleedingUpdatePacket.FIELD_RATES) != 0 ? reviveRate : previous.reviveRate(),
+                serverTick
+        ));
     }
 
     /**
      * Check if a player is bleeding (client-side).
      */
-    public static boolean isBleeding(UUID playerUuid) {
-        return states.containsKey(playerUuid);
+    public static boolean isBleeding(int entityId) {
+        return states.containsKey(entityId);
     }
 
     /**
      * Get the bleeding state for a player.
      */
-    public static BleedingStateData getState(UUID playerUuid) {
-        return states.get(playerUuid);
+    public static BleedingStateData getState(int entityId) {
+        return states.get(entityId);
+    }
+
+    /**
+     * Forget the state of an entity that is no longer tracked.
+     * The server sends a fresh state when tracking starts again.
+     */
+    public static void remove(int entityId) {
+        states.remove(entityId);
     }
 
     /**
@@ -48,11 +117,37 @@ public final class ClientBleedingState {
      */
     public static void clear() {
         states.clear();
+        clockServerTick = Long.MIN_VALUE;
     }
 
     /**
-     * Data class for bleeding state.
+     * Snapshot of a player's bleeding state.
+     *
+     * @param timeLeft       ticks until bleed-out at {@code stampTick}
+     * @param reviveProgress revive progress at {@code stampTick}, as a fraction of the required progress
+     * @param bleedRate      ticks of bleed time lost per tick
+     * @param reviveRate     fraction of the required progress gained per tick
+     * @param stampTick      server tick the snapshot was taken at
      */
-    public record BleedingStateData(int timeLeft, float reviveProgress) {
+    public record BleedingStateData(int timeLeft, float reviveProgress, int bleedRate, float reviveRate,
+                                    long stampTick) {
+
+        /**
+         * @param time server tick, including partial ticks
+         * @return extrapolated ticks until bleed-out
+         */
+        public float timeLeftAt(double time) {
+            double elapsed = Math.max(0.0, time - stampTick);
+            return (float) Math.max(0.0, timeLeft - bleedRate * elapsed);
+        }
+
+        /**
+         * @param time server tick, including partial ticks
+         * @return extrapolated revive progress, as a fraction of the required progress
+         */
+        public float reviveProgressAt(double time) {
+            double elapsed = Math.max(0.0, time - stampTick);
+            return (float) Math.min(1.0, reviveProgress + reviveRate * elapsed);
+        }
     }
 }
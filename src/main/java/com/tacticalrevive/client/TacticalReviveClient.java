@@ -1,12 +1,17 @@
 package com.tacticalrevive.client;
 
 import com.tacticalrevive.TacticalRevive;
+import com.tacticalrevive.network.packet.BleedingSnapshotPacket;
 import com.tacticalrevive.network.packet.BleedingUpdatePacket;
 import net.fabricmc.api.ClientModInitializer;
 import net.fabricmc.api.EnvType;
 import net.fabricmc.api.Environment;
+import net.fabricmc.fabric.api.client.event.lifecycle.v1.ClientEntityEvents;
+import net.fabricmc.fabric.api.client.networking.v1.ClientPlayConnectionEvents;
 import net.fabricmc.fabric.api.client.networking.v1.ClientPlayNetworking;
 import net.fabricmc.fabric.api.client.rendering.v1.HudRenderCallback;
+import net.minecraft.client.multiplayer.PlayerInfo;
+import net.minecraft.client.player.LocalPlayer;
 
 /**
  * Client-side initialization for TacticalRevive.
@@ -21,6 +26,10 @@ public class TacticalReviveClient implements ClientModInitializer {
         // Register client packet handlers
         registerPacketHandlers();
 
+        // Drop cached states the server will resend when tracking resumes
+        ClientEntityEvents.ENTITY_UNLOAD.register((entity, level) -> ClientBleedingState.remove(entity.getId()));
+        ClientPlayConnectionEvents.DISCONNECT.register((handler, client) -> ClientBleedingState.clear());
+
         // Register HUD renderer
         HudRenderCallback.EVENT.register(BleedingHudRenderer::render);
 
@@ -32,13 +41,34 @@ public class TacticalReviveClient implements ClientModInitializer {
                 BleedingUpdatePacket.TYPE,
                 (packet, context) -> {
                     // Update client-side bleeding state cache
-                    ClientBleedingState.updateState(
-                            packet.playerUuid(),
-                            packet.isBleeding(),
-                            packet.timeLeft(),
-                            packet.reviveProgress()
-                    );
+                    applyUpdate(packet, context.player());
                 }
         );
+
+        ClientPlayNetworking.registerGlobalReceiver(
+                BleedingSnapshotPacket.TYPE,
+                (packet, context) -> {
+                    for (BleedingUpdatePacket entry : packet.entries()) {
+                        applyUpdate(entry, context.player());
+                    }
+                }
+        );
+    }
+
+    private static void applyUpdate(BleedingUpdatePacket packet, LocalPlayer player) {
+        if (packet.isBleeding()) {
+            PlayerInfo info = player.connection.getPlayerInfo(player.getUUID());
+            ClientBleedingState.syncClock(packet.serverTick(), player.level().getGameTime(),
+                    info != null ? info.getLatency() : 0);
+        }
+        ClientBleedingState.updateState(
+                packet.entityId(),
+                packet.fields(),
+                packet.timeLeft(),
+                packet.progress(),
+                packet.bleedRate(),
+                packet.reviveRate(),
+                packet.serverTick()
+        );
     }
 }
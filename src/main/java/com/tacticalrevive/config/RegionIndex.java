@@ -0,0 +1,219 @@
+package com.tacticalrevive.config;
+
+import com.tacticalrevive.TacticalRevive;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.core.registries.Registries;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.Level;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Spatial index of region profiles, built once per config snapshot.
+ *
+ * <p>Boxes are bucketed by the chunk columns they overlap, so a lookup reads one
+ * hash bucket and tests the few boxes in it instead of scanning every region.
+ * Each bucket is sorted by precedence, so the first box containing the position
+ * wins. Boxes covering more than {@link #MAX_INDEXED_CHUNKS} chunks would bloat
+ * the table and are kept in a short per-dimension list instead.
+ */
+public final class RegionIndex {
+
+    private static final int MAX_INDEXED_CHUNKS = 1024;
+    private static final Region[] NO_REGIONS = new Region[0];
+
+    // Highest priority first, then the order regions are listed in
+    private static final Comparator<Region> PRECEDENCE = (a, b) -> a.precedes(b) ? -1 : b.precedes(a) ? 1 : 0;
+
+    private final RegionRules global;
+    private final Map<ResourceKey<Level>, DimensionIndex> dimensions;
+
+    private RegionIndex(RegionRules global, Map<ResourceKey<Level>, DimensionIndex> dimensions) {
+        this.global = global;
+        this.dimensions = dimensions;
+    }
+
+    /**
+     * Build the index for a validated snapshot.
+     *
+     * <p>Whole-dimension profiles are resolved first, so each box can be merged
+     * over the rules of its own dimension rather than the global rules.
+     *
+     * @param config   the snapshot the global rules come from
+     * @param profiles the validated region profiles
+     */
+    static RegionIndex build(TacticalReviveConfig.Snapshot config, List<RegionProfile> profiles) {
+        RegionRules global = RegionRules.global(config);
+        Map<ResourceKey<Level>, DimensionBuilder> builders = new HashMap<>();
+        List<DimensionBuilder> builderOf = new ArrayList<>(profiles.size());
+
+        for (RegionProfile profile : profiles) {
+            ResourceLocation location = ResourceLocation.tryParse(profile.getDimension());
+            if (location == null) {
+                TacticalRevive.LOGGER.warn("Region dimension ({}) is invalid, skipping region", profile.getDimension());
+                builderOf.add(null);
+                continue;
+            }
+
+            ResourceKey<Level> dimension = ResourceKey.create(Registries.DIMENSION, location);
+            DimensionBuilder builder = builders.computeIfAbsent(dimension, key -> new DimensionBuilder(global));
+            builderOf.add(builder);
+            if (profile.getBox() == null) {
+                builder.addDimensionWide(profile.getPriority(), RegionRules.merge(profile, global));
+            }
+        }
+
+        for (int i = 0; i < profiles.size(); i++) {
+            RegionProfile profile = profiles.get(i);
+            DimensionBuilder builder = builderOf.get(i);
+            if (builder != null && profile.getBox() != null) {
+                builder.addBox(new Region(profile.getBox(), profile.getPriority(), i,
+                        RegionRules.merge(profile, builder.fallback)));
+            }
+        }
+
+        Map<ResourceKey<Level>, DimensionIndex> dimensions = new HashMap<>();
+        for (Map.Entry<ResourceKey<Level>, DimensionBuilder> entry : builders.entrySet()) {
+            dimensions.put(entry.getKey(), entry.getValue().build());
+        }
+        return new RegionIndex(global, dimensions);
+    }
+
+    /**
+     * @return the rules outside every region
+     */
+    public RegionRules global() {
+        return global;
+    }
+
+    /**
+     * Resolve the rules at a block position.
+     *
+     * @return the rules of the winning region, or the global rules
+     */
+    public RegionRules rulesAt(ResourceKey<Level> dimension, int x, int y, int z) {
+        DimensionIndex index = dimensions.get(dimension);
+        return index != null ? index.rulesAt(x, y, z) : global;
+    }
+
+    /**
+     * A box from the config with its merged rules.
+     */
+    private static final class Region {
+        private final int minX;
+        private final int minY;
+        private final int minZ;
+        private final int maxX;
+        private final int maxY;
+        private final int maxZ;
+        private final int priority;
+        private final int order;
+        private final RegionRules rules;
+
+        private Region(int[] box, int priority, int order, RegionRules rules) {
+            this.minX = box[0];
+            this.minY = box[1];
+            this.minZ = box[2];
+            this.maxX = box[3];
+            this.maxY = box[4];
+            this.maxZ = box[5];
+            this.priority = priority;
+            this.order = order;
+            this.rules = rules;
+        }
+
+        private boolean contains(int x, int y, int z) {
+            return x >= minX && x <= maxX && y >= minY && y <= maxY && z >= minZ && z <= maxZ;
+        }
+
+        private boolean precedes(Region other) {
+            return priority != other.priority ? priority > other.priority : order < other.order;
+        }
+
+        private long chunkCount() {
+            return ((long) (maxX >> 4) - (minX >> 4) + 1) * ((long) (maxZ >> 4) - (minZ >> 4) + 1);
+        }
+    }
+
+    private static final class DimensionIndex {
+        private final RegionRules fallback;
+        private final Long2ObjectOpenHashMap<Region[]> byChunk;
+        private final Region[] large;
+
+        private DimensionIndex(RegionRules fallback, Long2ObjectOpenHashMap<Region[]> byChunk, Region[] large) {
+            this.fallback = fallback;
+            this.byChunk = byChunk;
+            this.large = large;
+        }
+
+        private RegionRules rulesAt(int x, int y, int z) {
+            Region best = first(byChunk.getOrDefault(ChunkPos.asLong(x >> 4, z >> 4), NO_REGIONS), x, y, z);
+            Region largeBest = first(large, x, y, z);
+            if (largeBest != null && (best == null || largeBest.precedes(best))) {
+                best = largeBest;
+            }
+            return best != null ? best.rules : fallback;
+        }
+
+        private static Region first(Region[] regions, int x, int y, int z) {
+            for (Region region : regions) {
+                if (region.contains(x, y, z)) {
+                    return region;
+                }
+            }
+            return null;
+        }
+    }
+
+    private static final class DimensionBuilder {
+        private RegionRules fallback;
+        private int fallbackPriority = Integer.MIN_VALUE;
+        private final Map<Long, List<Region>> byChunk = new HashMap<>();
+        private final List<Region> large = new ArrayList<>();
+
+        private DimensionBuilder(RegionRules global) {
+            this.fallback = global;
+        }
+
+        private void addDimensionWide(int priority, RegionRules rules) {
+            // Earlier profiles win ties, as with boxes
+            if (priority > fallbackPriority) {
+                fallback = rules;
+                fallbackPriority = priority;
+            }
+        }
+
+        private void addBox(Region region) {
+            if (region.chunkCount() > MAX_INDEXED_CHUNKS) {
+                large.add(region);
+                return;
+            }
+            for (int cx = region.minX >> 4; cx <= region.maxX >> 4; cx++) {
+                for (int cz = region.minZ >> 4; cz <= region.maxZ >> 4; cz++) {
+                    byChunk.computeIfAbsent(ChunkPos.asLong(cx, cz), key -> new ArrayList<>()).add(region);
+                }
+            }
+        }
+
+        private DimensionIndex build() {
+            Long2ObjectOpenHashMap<Region[]> table = new Long2ObjectOpenHashMap<>(byChunk.size());
+            for (Map.Entry<Long, List<Region>> entry : byChunk.entrySet()) {
+                Region[] regions = entry.getValue().toArray(NO_REGIONS);
+                Arrays.sort(regions, PRECEDENCE);
+                table.put(entry.getKey().longValue(), regions);
+            }
+            table.trim();
+
+            Region[] largeRegions = large.toArray(NO_REGIONS);
+            Arrays.sort(largeRegions, PRECEDENCE);
+            return new DimensionIndex(fallback, table, largeRegions);
+        }
+    }
+}
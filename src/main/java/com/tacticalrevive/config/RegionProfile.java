@@ -0,0 +1,108 @@
+package com.tacticalrevive.config;
+
+import com.tacticalrevive.TacticalRevive;
+
+/**
+ * A rule override for a dimension or a box within it, as written in the config file.
+ *
+ * <p>Every override is optional. A profile without a box covers its whole
+ * dimension, and rules it leaves out fall back to the global config. Rules a
+ * box leaves out fall back to its dimension's winning whole-dimension profile,
+ * or to the global config if there is none. Boxes always take
+ * precedence over whole-dimension profiles, and among overlapping boxes the
+ * highest {@code priority} wins, then the one listed first.
+ */
+public final class RegionProfile {
+
+    private String name = "";
+    private String dimension = "minecraft:overworld";
+    private int[] box = null; // minX, minY, minZ, maxX, maxY, maxZ, inclusive block coordinates
+    private int priority = 0;
+
+    // Overrides, null to inherit
+    private Integer bleedingTime = null;
+    private Double maxReviveDistance = null;
+    private Boolean disableMobDamage = null;
+    private Boolean disablePlayerDamage = null;
+    private Boolean reviveEnabled = null;
+
+    public String getName() {
+        return name;
+    }
+
+    public String getDimension() {
+        return dimension;
+    }
+
+    /**
+     * @return the box bounds, or null if the profile covers the whole dimension
+     */
+    public int[] getBox() {
+        return box;
+    }
+
+    public int getPriority() {
+        return priority;
+    }
+
+    public Integer getBleedingTime() {
+        return bleedingTime;
+    }
+
+    public Double getMaxReviveDistance() {
+        return maxReviveDistance;
+    }
+
+    public Boolean getDisableMobDamage() {
+        return disableMobDamage;
+    }
+
+    public Boolean getDisablePlayerDamage() {
+        return disablePlayerDamage;
+    }
+
+    public Boolean getReviveEnabled() {
+        return reviveEnabled;
+    }
+
+    /**
+     * Drop overrides and bounds that are out of range.
+     *
+     * @param index position in the region list, to name unnamed profiles in warnings
+     * @return false if the profile cannot be used at all
+     */
+    boolean validate(int index) {
+        String label = name == null || name.isEmpty() ? "regions[" + index + "]" : name;
+
+        if (dimension == null || dimension.isEmpty()) {
+            TacticalRevive.LOGGER.warn("{}: dimension is missing, skipping region", label);
+            return false;
+        }
+
+        if (box != null) {
+            if (box.length != 6) {
+                TacticalRevive.LOGGER.warn("{}: box needs 6 values, got {}, skipping region", label, box.length);
+                return false;
+            }
+            // Accept corners in any order
+            box = new int[] {
+                    Math.min(box[0], box[3]), Math.min(box[1], box[4]), Math.min(box[2], box[5]),
+                    Math.max(box[0], box[3]), Math.max(box[1], box[4]), Math.max(box[2], box[5])
+            };
+        }
+
+        if (bleedingTime != null && bleedingTime <= 0) {
+            TacticalRevive.LOGGER.warn("{}: bleedingTime ({}) is invalid, using the global value",
+                    label, bleedingTime);
+            bleedingTime = null;
+        }
+
+        if (maxReviveDistance != null && maxReviveDistance <= 0) {
+            TacticalRevive.LOGGER.warn("{}: maxReviveDistance ({}) is invalid, using the global value",
+                    label, maxReviveDistance);
+            maxReviveDistance = null;
+        }
+
+        return true;
+    }
+}
@@ -0,0 +1,94 @@
+package com.tacticalrevive.config;
+
+import net.minecraft.world.entity.Entity;
+
+/**
+ * The rules in effect at a location: a region profile merged over the rules it sits in.
+ * Built once per config snapshot, so resolving rules for an event never allocates.
+ */
+public final class RegionRules {
+
+    private final String name;
+    private final int bleedingTime;
+    private final double maxReviveDistance;
+    private final boolean disableMobDamage;
+    private final boolean disablePlayerDamage;
+    private final boolean reviveEnabled;
+
+    private RegionRules(String name, int bleedingTime, double maxReviveDistance,
+                        boolean disableMobDamage, boolean disablePlayerDamage, boolean reviveEnabled) {
+        this.name = name;
+        this.bleedingTime = bleedingTime;
+        this.maxReviveDistance = maxReviveDistance;
+        this.disableMobDamage = disableMobDamage;
+        this.disablePlayerDamage = disablePlayerDamage;
+        this.reviveEnabled = reviveEnabled;
+    }
+
+    /**
+     * Rules outside every region.
+     */
+    static RegionRules global(TacticalReviveConfig.Snapshot config) {
+        return new RegionRules("", config.getBleedingTime(), config.getMaxReviveDistance(),
+                config.shouldDisableMobDamage(), config.shouldDisablePlayerDamage(), true);
+    }
+
+    /**
+     * Rules inside a region: its overrides, falling back to the rules it sits in.
+     *
+     * @param profile the region's overrides
+     * @param base    the global rules for a whole dimension, or its dimension's rules for a box
+     */
+    static RegionRules merge(RegionProfile profile, RegionRules base) {
+        return new RegionRules(
+                profile.getName() != null ? profile.getName() : "",
+                profile.getBleedingTime() != null ? profile.getBleedingTime() : base.bleedingTime,
+                profile.getMaxReviveDistance() != null ? profile.getMaxReviveDistance() : base.maxReviveDistance,
+                profile.getDisableMobDamage() != null ? profile.getDisableMobDamage() : base.disableMobDamage,
+                profile.getDisablePlayerDamage() != null
+                        ? profile.getDisablePlayerDamage() : base.disablePlayerDamage,
+                profile.getReviveEnabled() != null ? profile.getReviveEnabled() : base.reviveEnabled
+        );
+    }
+
+    /**
+     * Resolve the rules at an entity's position under the current config.
+     *
+     * @param entity any entity
+     * @return the rules of the region the entity is in, or the global rules
+     */
+    public static RegionRules at(Entity entity) {
+        return TacticalReviveConfig.get().getRegions()
+                .rulesAt(entity.level().dimension(), entity.getBlockX(), entity.getBlockY(), entity.getBlockZ());
+    }
+
+    /**
+     * @return the profile name, empty for the global rules
+     */
+    public String getName() {
+        return name;
+    }
+
+    public int getBleedingTime() {
+        return bleedingTime;
+    }
+
+    public double getMaxReviveDistance() {
+        return maxReviveDistance;
+    }
+
+    public boolean shouldDisableMobDamage() {
+        return disableMobDamage;
+    }
+
+    public boolean shouldDisablePlayerDamage() {
+        return disablePlayerDamage;
+    }
+
+    /**
+     * @return false if players die outright here instead of going down
+     */
+    public boolean isReviveEnabled() {
+        return reviveEnabled;
+    }
+}
@@ -1,10 +1,39 @@
 package com.tacticalrevive.config;
 
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonParseException;
 import com.tacticalrevive.TacticalRevive;
+import net.fabricmc.loader.api.FabricLoader;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Configuration for TacticalRevive.
- * Simple static configuration - can be extended to use file-based config later.
+ * Loaded from {@code config/tacticalrevive.json}, which is created with the
+ * defaults if missing and reloaded whenever it changes on disk.
+ *
+ * <p>Values are held in an immutable {@link Snapshot}. A reload parses and
+ * validates a new snapshot on the watcher thread and then swaps it in with a
+ * single reference write, so the server thread never waits on file I/O and
+ * never sees a half-applied config. Code reading several values together can
+ * take one snapshot with {@link #get()} and read from it.
+ *
+ * <p>The {@code regions} list overrides some rules per dimension or per box;
+ * see {@link RegionProfile}. Code that depends on where a player is resolves
+ * its rules with {@link RegionRules#at}.
  *
  * <p>Important constraints for TACZ compatibility:
  * <ul>
@@ -15,154 +44,478 @@ import com.tacticalrevive.TacticalRevive;
  */
 public final class TacticalReviveConfig {
 
+    private static final String FILE_NAME = "tacticalrevive.json";
+    private static final long RELOAD_DELAY_MS = 100; // let editors finish writing
+
     // Minimum values to ensure correct behavior
     private static final float MIN_BLEEDING_HEALTH = 1.0f;
     private static final int MIN_INITIAL_DAMAGE_COOLDOWN = 2;
 
+    private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
+
+    private static volatile Snapshot current = prepare(new Snapshot());
+    private static Thread watcher = null;
+
     private TacticalReviveConfig() {
         // Configuration class
     }
 
-    // Bleeding settings
-    private static int bleedingTime = 1200; // 60 seconds in ticks
-    private static float bleedingHealth = 10.0f; // 5 hearts
-    private static boolean showBleedingMessage = true;
-    private static boolean shouldGlow = false;
-    private static int initialDamageCooldown = 10; // ticks
+    /**
+     * Who receives the downed, revived and died messages.
+     */
+    public enum BroadcastScope {
+        /** Every player on the server. */
+        SERVER,
+        /** Players in the same dimension. */
+        DIMENSION,
+        /** Players within {@code broadcastRadius} blocks. */
+        RADIUS,
+        /** Players on the same scoreboard team. */
+        TEAM
+    }
 
-    // Revival settings
-    private static float requiredReviveProgress = 100.0f;
-    private static float progressPerPlayer = 1.0f;
-    private static double maxReviveDistance = 3.0;
-    private static float healthAfterRevive = 4.0f; // 2 hearts
-    private static boolean haltBleedTime = false;
-    private static boolean resetProgress = true;
+    /**
+     * One loaded and validated set of config values.
+     * Field names are the keys of the config file. Never modified once published.
+     */
+    public static final class Snapshot {
+        // Bleeding settings
+        private int bleedingTime = 1200; // 60 seconds in ticks
+        private float bleedingHealth = 10.0f; // 5 hearts
+        private boolean showBleedingMessage = true;
+        private boolean shouldGlow = false;
+        private int initialDamageCooldown = 10; // ticks
+
+        // Chat messages
+        private BroadcastScope broadcastScope = BroadcastScope.SERVER;
+        private double broadcastRadius = 64.0; // blocks, for RADIUS scope
+        private int broadcastWindow = 40; // ticks after a message during which more are aggregated, 0 sends at once
+
+        // Revival settings
+        private float requiredReviveProgress = 100.0f;
+        private float progressPerPlayer = 1.0f;
+        private double maxReviveDistance = 3.0;
+        private float healthAfterRevive = 4.0f; // 2 hearts
+        private boolean haltBleedTime = false;
+        private boolean resetProgress = true;
+        private int helperCheckInterval = 5; // ticks between helper range checks
+        private boolean autoReviveWhenCrouching = false;
+
+        // Disconnect handling
+        private int disconnectGracePeriod = 600; // ticks a downed player may reconnect within, 0 kills at once
+        private int maxDisconnectedBleeders = 64;
+
+        // Damage protection
+        private boolean disableMobDamage = false;
+        private boolean disablePlayerDamage = false;
+
+        // Single-player support
+        private boolean enableSinglePlayer = false;
+
+        // Per-dimension and per-region overrides
+        private List<RegionProfile> regions = new ArrayList<>();
+
+        // Built from regions when the snapshot is prepared, not part of the file
+        private transient RegionIndex regionIndex;
+
+        public int getBleedingTime() {
+            return bleedingTime;
+        }
 
-    // Damage protection
-    private static boolean disableMobDamage = false;
-    private static boolean disablePlayerDamage = false;
+        public float getBleedingHealth() {
+            return bleedingHealth;
+        }
 
-    // Single-player support
-    private static boolean enableSinglePlayer = false;
+        public boolean shouldShowBleedingMessage() {
+            return showBleedingMessage;
+        }
+
+        public boolean shouldGlow() {
+            return shouldGlow;
+        }
+
+        public int getInitialDamageCooldown() {
+            return initialDamageCooldown;
+        }
+
+        public BroadcastScope getBroadcastScope() {
+            return broadcastScope;
+        }
+
+        public double getBroadcastRadius() {
+            return broadcastRadius;
+        }
+
+        public int getBroadcastWindow() {
+            return broadcastWindow;
+        }
+
+        public float getRequiredReviveProgress() {
+            return requiredReviveProgress;
+        }
+
+        public float getProgressPerPlayer() {
+            return progressPerPlayer;
+        }
+
+        public double getMaxReviveDistance() {
+            return maxReviveDistance;
+        }
 
+        public float getHealthAfterRevive() {
+            return healthAfterRevive;
+        }
+
+        public boolean shouldHaltBleedTime() {
+            return haltBleedTime;
+        }
+
+        public boolean shouldResetProgress() {
+            return resetProgress;
+        }
+
+        public int getHelperCheckInterval() {
+            return helperCheckInterval;
+        }
+
+        public boolean shouldAutoReviveWhenCrouching() {
+            return autoReviveWhenCrouching;
+        }
+
+        public int getDisconnectGracePeriod() {
+            return disconnectGracePeriod;
+        }
+
+        public int getMaxDisconnectedBleeders() {
+            return maxDisconnectedBleeders;
+        }
+
+        public boolean shouldDisableMobDamage() {
+            return disableMobDamage;
+        }
+
+        public boolean shouldDisablePlayerDamage() {
+            return disablePlayerDamage;
+        }
+
+        public boolean shouldEnableSinglePlayer() {
+            return enableSinglePlayer;
+        }
+
+        /**
+         * @return the region overrides, indexed for lookup by position
+         */
+        public RegionIndex getRegions() {
+            return regionIndex;
+        }
+    }
+
+    /**
+     * Load the config file, creating it with the defaults if missing,
+     * and start watching it for changes.
+     */
     public static void load() {
-        // TODO: Load from config file if needed
-        TacticalRevive.LOGGER.info("Configuration loaded with defaults");
+        Path path = configPath();
+        if (Files.exists(path)) {
+            reload(path);
+        } else {
+            Snapshot defaults = prepare(new Snapshot());
+            current = defaults;
+            write(path, defaults);
+            TacticalRevive.LOGGER.info("Configuration created with defaults at {}", path);
+        }
+
+        startWatcher(path);
+    }
 
-        // Validate configuration values
-        validateConfig();
+    /**
+     * @return the current config; values read from one snapshot are always consistent
+     */
+    public static Snapshot get() {
+        return current;
+    }
+
+    private static Path configPath() {
+        return FabricLoader.getInstance().getConfigDir().resolve(FILE_NAME);
+    }
+
+    /**
+     * Parse and validate the file, then publish it. On error the current config is kept.
+     */
+    private static void reload(Path path) {
+        Snapshot loaded;
+        try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            loaded = GSON.fromJson(reader, Snapshot.class);
+        } catch (IOException | JsonParseException e) {
+            TacticalRevive.LOGGER.error("Failed to read {}, keeping current configuration", path, e);
+            return;
+        }
+        if (loaded == null) {
+            TacticalRevive.LOGGER.warn("{} is empty, keeping current configuration", path);
+            return;
+        }
+
+        current = prepare(loaded);
+        TacticalRevive.LOGGER.info("Configuration loaded from {}", path);
+    }
+
+    /**
+     * Validate a snapshot and build its region index, ready to be published.
+     */
+    private static Snapshot prepare(Snapshot config) {
+        validateConfig(config);
+        config.regionIndex = RegionIndex.build(config, config.regions);
+        return config;
+    }
+
+    private static void write(Path path, Snapshot config) {
+        try {
+            Files.createDirectories(path.getParent());
+            try (Writer writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+                GSON.toJson(config, writer);
+            }
+        } catch (IOException e) {
+            TacticalRevive.LOGGER.warn("Failed to write default configuration to {}", path, e);
+        }
+    }
+
+    /**
+     * Watch the config directory and reload when the file changes.
+     * Runs on a daemon thread; the server thread only ever sees the swapped snapshot.
+     */
+    private static void startWatcher(Path path) {
+        if (watcher != null) {
+            return;
+        }
+
+        WatchService service;
+        try {
+            service = path.getFileSystem().newWatchService();
+            path.getParent().register(service,
+                    StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+        } catch (IOException e) {
+            TacticalRevive.LOGGER.warn("Cannot watch {} for changes, hot reload disabled", path, e);
+            return;
+        }
+
+        watcher = new Thread(() -> watch(service, path), "TacticalRevive Config Watcher");
+        watcher.setDaemon(true);
+        watcher.start();
+    }
+
+    private static void watch(WatchService service, Path path) {
+        Path fileName = path.getFileName();
+        try {
+            while (true) {
+                WatchKey key = service.take();
+                boolean changed = false;
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (fileName.equals(event.context())) {
+                        changed = true;
+                    }
+                }
+                key.reset();
+
+                if (changed && Files.exists(path)) {
+                    Thread.sleep(RELOAD_DELAY_MS);
+                    // Drop the events caused by the rest of the same save
+                    WatchKey pending = service.poll();
+                    if (pending != null) {
+                        pending.pollEvents();
+                        pending.reset();
+                    }
+                    reload(path);
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // Shutting down
+        }
     }
 
     /**
      * Validate configuration values and adjust if necessary.
      * This ensures TACZ compatibility and correct behavior.
      */
-    private static void validateConfig() {
+    private static void validateConfig(Snapshot config) {
         // Ensure bleedingHealth is above minimum
         // This is critical for TACZ - if health is 0 after downed state,
         // isDeadOrDying() returns true and EntityKillByGunEvent fires
-        if (bleedingHealth < MIN_BLEEDING_HEALTH) {
+        if (config.bleedingHealth < MIN_BLEEDING_HEALTH) {
             TacticalRevive.LOGGER.warn("bleedingHealth ({}) is below minimum ({}), adjusting",
-                    bleedingHealth, MIN_BLEEDING_HEALTH);
-            bleedingHealth = MIN_BLEEDING_HEALTH;
+                    config.bleedingHealth, MIN_BLEEDING_HEALTH);
+            config.bleedingHealth = MIN_BLEEDING_HEALTH;
         }
 
         // Ensure initialDamageCooldown is above minimum
         // This is critical for TACZ - it makes two hurt() calls per bullet
-        if (initialDamageCooldown < MIN_INITIAL_DAMAGE_COOLDOWN) {
+        if (config.initialDamageCooldown < MIN_INITIAL_DAMAGE_COOLDOWN) {
             TacticalRevive.LOGGER.warn("initialDamageCooldown ({}) is below minimum ({}), adjusting",
-                    initialDamageCooldown, MIN_INITIAL_DAMAGE_COOLDOWN);
-            initialDamageCooldown = MIN_INITIAL_DAMAGE_COOLDOWN;
+                    config.initialDamageCooldown, MIN_INITIAL_DAMAGE_COOLDOWN);
+            config.initialDamageCooldown = MIN_INITIAL_DAMAGE_COOLDOWN;
         }
 
         // Ensure other values are sane
-        if (bleedingTime <= 0) {
-            TacticalRevive.LOGGER.warn("bleedingTime ({}) is invalid, using default 1200", bleedingTime);
-            bleedingTime = 1200;
+        if (config.bleedingTime <= 0) {
+            TacticalRevive.LOGGER.warn("bleedingTime ({}) is invalid, using default 1200", config.bleedingTime);
+            config.bleedingTime = 1200;
         }
 
-        if (requiredReviveProgress <= 0) {
+        if (config.requiredReviveProgress <= 0) {
             TacticalRevive.LOGGER.warn("requiredReviveProgress ({}) is invalid, using default 100",
-                    requiredReviveProgress);
-            requiredReviveProgress = 100.0f;
+                    config.requiredReviveProgress);
+            config.requiredReviveProgress = 100.0f;
         }
 
-        if (progressPerPlayer <= 0) {
+        if (config.progressPerPlayer <= 0) {
             TacticalRevive.LOGGER.warn("progressPerPlayer ({}) is invalid, using default 1.0",
-                    progressPerPlayer);
-            progressPerPlayer = 1.0f;
+                    config.progressPerPlayer);
+            config.progressPerPlayer = 1.0f;
         }
 
-        if (maxReviveDistance <= 0) {
+        if (config.maxReviveDistance <= 0) {
             TacticalRevive.LOGGER.warn("maxReviveDistance ({}) is invalid, using default 3.0",
-                    maxReviveDistance);
-            maxReviveDistance = 3.0;
+                    config.maxReviveDistance);
+            config.maxReviveDistance = 3.0;
         }
 
-        if (healthAfterRevive <= 0) {
+        if (config.helperCheckInterval <= 0) {
+            TacticalRevive.LOGGER.warn("helperCheckInterval ({}) is invalid, using default 5",
+                    config.helperCheckInterval);
+            config.helperCheckInterval = 5;
+        }
+
+        if (config.broadcastScope == null) {
+            TacticalRevive.LOGGER.warn("broadcastScope is invalid, using default SERVER");
+            config.broadcastScope = BroadcastScope.SERVER;
+        }
+
+        if (config.broadcastRadius <= 0) {
+            TacticalRevive.LOGGER.warn("broadcastRadius ({}) is invalid, using default 64.0",
+                    config.broadcastRadius);
+            config.broadcastRadius = 64.0;
+        }
+
+        if (config.broadcastWindow < 0) {
+            TacticalRevive.LOGGER.warn("broadcastWindow ({}) is invalid, using 0", config.broadcastWindow);
+            config.broadcastWindow = 0;
+        }
+
+        if (config.disconnectGracePeriod < 0) {
+            TacticalRevive.LOGGER.warn("disconnectGracePeriod ({}) is invalid, using 0",
+                    config.disconnectGracePeriod);
+            config.disconnectGracePeriod = 0;
+        }
+
+        if (config.maxDisconnectedBleeders <= 0) {
+            TacticalRevive.LOGGER.warn("maxDisconnectedBleeders ({}) is invalid, using default 64",
+                    config.maxDisconnectedBleeders);
+            config.maxDisconnectedBleeders = 64;
+        }
+
+        if (config.healthAfterRevive <= 0) {
             TacticalRevive.LOGGER.warn("healthAfterRevive ({}) is invalid, using default 4.0",
-                    healthAfterRevive);
-            healthAfterRevive = 4.0f;
+                    config.healthAfterRevive);
+            config.healthAfterRevive = 4.0f;
+        }
+
+        // Drop region profiles that cannot be used, keeping the order they are listed in
+        List<RegionProfile> regions = new ArrayList<>();
+        if (config.regions != null) {
+            for (int i = 0; i < config.regions.size(); i++) {
+                RegionProfile region = config.regions.get(i);
+                if (region != null && region.validate(i)) {
+                    regions.add(region);
+                }
+            }
         }
+        config.regions = regions;
 
         TacticalRevive.LOGGER.debug("Configuration validated: bleedingHealth={}, initialDamageCooldown={}",
-                bleedingHealth, initialDamageCooldown);
+                config.bleedingHealth, config.initialDamageCooldown);
     }
 
-    // Getters
+    // Getters, each reading the current snapshot
     public static int getBleedingTime() {
-        return bleedingTime;
+        return current.bleedingTime;
     }
 
     public static float getBleedingHealth() {
-        return bleedingHealth;
+        return current.bleedingHealth;
     }
 
     public static boolean shouldShowBleedingMessage() {
-        return showBleedingMessage;
+        return current.showBleedingMessage;
     }
 
     public static boolean shouldGlow() {
-        return shouldGlow;
+        return current.shouldGlow;
     }
 
     public static int getInitialDamageCooldown() {
-        return initialDamageCooldown;
+        return current.initialDamageCooldown;
+    }
+
+    public static BroadcastScope getBroadcastScope() {
+        return current.broadcastScope;
+    }
+
+    public static double getBroadcastRadius() {
+        return current.broadcastRadius;
+    }
+
+    public static int getBroadcastWindow() {
+        return current.broadcastWindow;
     }
 
     public static float getRequiredReviveProgress() {
-        return requiredReviveProgress;
+        return current.requiredReviveProgress;
     }
 
     public static float getProgressPerPlayer() {
-        return progressPerPlayer;
+        return current.progressPerPlayer;
     }
 
     public static double getMaxReviveDistance() {
-        return maxReviveDistance;
+        return current.maxReviveDistance;
     }
 
     public static float getHealthAfterRevive() {
-        return healthAfterRevive;
+        return current.healthAfterRevive;
     }
 
     public static boolean shouldHaltBleedTime() {
-        return haltBleedTime;
+        return current.haltBleedTime;
     }
 
     public static boolean shouldResetProgress() {
-        return resetProgress;
+        return current.resetProgress;
+    }
+
+    public static int getHelperCheckInterval() {
+        return current.helperCheckInterval;
+    }
+
+    public static boolean shouldAutoReviveWhenCrouching() {
+        return current.autoReviveWhenCrouching;
+    }
+
+    public static int getDisconnectGracePeriod() {
+        return current.disconnectGracePeriod;
+    }
+
+    public static int getMaxDisconnectedBleeders() {
+        return current.maxDisconnectedBleeders;
     }
 
     public static boolean shouldDisableMobDamage() {
-        return disableMobDamage;
+        return current.disableMobDamage;
     }
 
     public static boolean shouldDisablePlayerDamage() {
-        return disablePlayerDamage;
+        return current.disablePlayerDamage;
     }
 
     public static boolean shouldEnableSinglePlayer() {
-        return enableSinglePlayer;
+        return current.enableSinglePlayer;
     }
 }
@@ -1,9 +1,11 @@
 package com.tacticalrevive.event;
 
 import com.tacticalrevive.TacticalRevive;
+import com.tacticalrevive.api.IBleeding;
 import com.tacticalrevive.bleeding.BleedingManager;
+import com.tacticalrevive.config.RegionRules;
 import com.tacticalrevive.config.TacticalReviveConfig;
-import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.MinecraftServer;
 import net.minecraft.world.damagesource.DamageSource;
 import net.minecraft.world.entity.LivingEntity;
 import net.minecraft.world.entity.player.Player;
@@ -21,13 +23,25 @@ import net.minecraft.world.entity.player.Player;
  */
 public final class DamageEventHandler {
 
-    // TACZ damage type prefixes for detection
-    private static final String TACZ_NAMESPACE = "tacz";
-    private static final String BULLET_TYPE_PREFIX = "bullet";
-
     private DamageEventHandler() {
     }
 
+    /**
+     * Called when the server is starting.
+     * Builds the damage type classification table from the loaded registry.
+     */
+    public static void onServerStarting(MinecraftServer server) {
+        DamageTypeClassifier.rebuild(server.registryAccess());
+    }
+
+    /**
+     * Called when the server stops.
+     * Drops the classification table, which references the server's registry entries.
+     */
+    public static void onServerStopped(MinecraftServer server) {
+        DamageTypeClassifier.clear();
+    }
+
     /**
      * Called when an entity is about to die.
      * Returns false to prevent death and start bleeding instead.
@@ -113,7 +127,12 @@ public final class DamageEventHandler {
      */
     private static boolean shouldBypassRevive(Player player, DamageSource source, float amount) {
         // Void damage bypasses revival
-        if (source.is(net.minecraft.world.damagesource.DamageTypes.FELL_OUT_OF_WORLD)) {
+        if (DamageTypeClassifier.has(source, DamageTypeClassifier.BYPASS_REVIVE)) {
+            return true;
+        }
+
+        // Regions can turn revival off, e.g. for an arena where deaths are final
+        if (!RegionRules.at(player).isReviveEnabled()) {
             return true;
         }
 
@@ -123,29 +142,22 @@ public final class DamageEventHandler {
     }
 
     /**
-     * Check if damage should be blocked for a bleeding player.
+     * Check if damage should be blocked for a player already known to be bleeding.
+     * Used by the hurt hook once the cached downed flag has been tested.
      *
      * <p>For TACZ damage, this is a backup check. The primary interception happens
      * in {@link TaczEventHandler#onEntityHurtByGunPre} which cancels the Pre event
      * before hurt() is ever called.
      *
-     * @param player the player
-     * @param source the damage source
+     * @param bleeding the player's bleeding state
+     * @param rules    the rules where the player is
+     * @param source   the damage source
      * @return true if damage should be blocked
      */
-    public static boolean shouldBlockDamage(Player player, DamageSource source) {
-        if (!BleedingManager.isBleeding(player)) {
-            return false;
-        }
-
-        var bleeding = BleedingManager.getBleeding(player);
-        if (bleeding == null) {
-            return false;
-        }
-
+    public static boolean shouldBlockDamage(IBleeding bleeding, RegionRules rules, DamageSource source) {
         // Block damage during initial cooldown (handles TACZ double-hurt issue)
         // This is critical for the second hurt() call in tacAttackEntity
-        if (bleeding.getDownedTime() < TacticalReviveConfig.getInitialDamageCooldown()) {
+        if (bleeding.isInDamageCooldown()) {
             return true;
         }
 
@@ -156,12 +168,12 @@ public final class DamageEventHandler {
         }
 
         // Check mob damage
-        if (TacticalReviveConfig.shouldDisableMobDamage() && isMobDamage(source)) {
+        if (rules.shouldDisableMobDamage() && isMobDamage(source)) {
             return true;
         }
 
         // Check player damage
-        if (TacticalReviveConfig.shouldDisablePlayerDamage() && isPlayerDamage(source)) {
+        if (rules.shouldDisablePlayerDamage() && isPlayerDamage(source)) {
             return true;
         }
 
@@ -186,27 +198,7 @@ public final class DamageEventHandler {
      * @return true if this is TACZ bullet damage
      */
     public static boolean isTaczDamage(DamageSource source) {
-        if (source == null || source.type() == null) {
-            return false;
-        }
-
-        try {
-            // Get the damage type's resource location
-            ResourceLocation typeId = source.typeHolder().unwrapKey()
-                    .map(key -> key.location())
-                    .orElse(null);
-
-            if (typeId == null) {
-                return false;
-            }
-
-            // Check if it's from TACZ namespace and is bullet damage
-            return TACZ_NAMESPACE.equals(typeId.getNamespace()) &&
-                    typeId.getPath().startsWith(BULLET_TYPE_PREFIX);
-        } catch (Exception e) {
-            // In case of any issues with registry access, fail safely
-            return false;
-        }
+        return source != null && DamageTypeClassifier.has(source, DamageTypeClassifier.TACZ_BULLET);
     }
 
     /**
@@ -216,22 +208,6 @@ public final class DamageEventHandler {
      * @return true if this is armor-piercing bullet damage
      */
     public static boolean isArmorPiercingTaczDamage(DamageSource source) {
-        if (!isTaczDamage(source)) {
-            return false;
-        }
-
-        try {
-            ResourceLocation typeId = source.typeHolder().unwrapKey()
-                    .map(key -> key.location())
-                    .orElse(null);
-
-            if (typeId == null) {
-                return false;
-            }
-
-            return typeId.getPath().contains("ignore_armor");
-        } catch (Exception e) {
-            return false;
-        }
+        return source != null && DamageTypeClassifier.has(source, DamageTypeClassifier.ARMOR_PIERCING);
     }
 }
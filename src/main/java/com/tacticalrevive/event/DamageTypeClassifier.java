@@ -0,0 +1,116 @@
+package com.tacticalrevive.event;
+
+import com.tacticalrevive.TacticalRevive;
+import it.unimi.dsi.fastutil.objects.Reference2IntOpenHashMap;
+import net.minecraft.core.Holder;
+import net.minecraft.core.Registry;
+import net.minecraft.core.RegistryAccess;
+import net.minecraft.core.registries.Registries;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.damagesource.DamageSource;
+import net.minecraft.world.damagesource.DamageType;
+import net.minecraft.world.damagesource.DamageTypes;
+
+/**
+ * Precomputed classification of damage types.
+ *
+ * <p>Each registered {@link DamageType} is mapped to a bitset of flags when the
+ * server's damage type registry is available, so damage filtering is a single
+ * identity lookup and bit test instead of resource key and string work per hurt.
+ * Types not seen at startup are classified on first use and cached.
+ */
+public final class DamageTypeClassifier {
+
+    /** TACZ gun/bullet damage. */
+    public static final int TACZ_BULLET = 1;
+    /** Armor-piercing TACZ bullet damage. */
+    public static final int ARMOR_PIERCING = 1 << 1;
+    /** Falling out of the world. */
+    public static final int VOID = 1 << 2;
+    /** Damage that kills outright instead of entering the downed state. */
+    public static final int BYPASS_REVIVE = 1 << 3;
+
+    // TACZ damage type prefixes for detection
+    private static final String TACZ_NAMESPACE = "tacz";
+    private static final String BULLET_TYPE_PREFIX = "bullet";
+    private static final String ARMOR_PIERCING_MARKER = "ignore_armor";
+
+    private static final int UNKNOWN = -1;
+
+    // Identity keyed: DamageType is a record, so equals/hashCode would hash its fields
+    private static final Reference2IntOpenHashMap<DamageType> flagsByType = new Reference2IntOpenHashMap<>();
+
+    static {
+        flagsByType.defaultReturnValue(UNKNOWN);
+    }
+
+    private DamageTypeClassifier() {
+    }
+
+    /**
+     * Rebuild the table from the server's damage type registry.
+     *
+     * @param registryAccess the server registry access
+     */
+    public static void rebuild(RegistryAccess registryAccess) {
+        flagsByType.clear();
+
+        Registry<DamageType> registry = registryAccess.registryOrThrow(Registries.DAMAGE_TYPE);
+        registry.holders().forEach(holder -> flagsByType.put(holder.value(), classify(holder)));
+
+        TacticalRevive.LOGGER.debug("Classified {} damage types", flagsByType.size());
+    }
+
+    /**
+     * Drop the table. Called when the server stops.
+     */
+    public static void clear() {
+        flagsByType.clear();
+    }
+
+    /**
+     * @param source the damage source
+     * @return the classification flags of its damage type
+     */
+    public static int getFlags(DamageSource source) {
+        DamageType type = source.type();
+        int flags = flagsByType.getInt(type);
+        if (flags == UNKNOWN) {
+            flags = classify(source.typeHolder());
+            flagsByType.put(type, flags);
+        }
+        return flags;
+    }
+
+    /**
+     * @param source the damage source
+     * @param flag   one or more flags
+     * @return true if the source's damage type has any of the given flags
+     */
+    public static boolean has(DamageSource source, int flag) {
+        return (getFlags(source) & flag) != 0;
+    }
+
+    private static int classify(Holder<DamageType> holder) {
+        int flags = 0;
+
+        if (holder.is(DamageTypes.FELL_OUT_OF_WORLD)) {
+            // Void damage bypasses revival
+            flags |= VOID | BYPASS_REVIVE;
+        }
+
+        ResourceLocation typeId = holder.unwrapKey()
+                .map(key -> key.location())
+                .orElse(null);
+
+        if (typeId != null && TACZ_NAMESPACE.equals(typeId.getNamespace())
+                && typeId.getPath().startsWith(BULLET_TYPE_PREFIX)) {
+            flags |= TACZ_BULLET;
+            if (typeId.getPath().contains(ARMOR_PIERCING_MARKER)) {
+                flags |= ARMOR_PIERCING;
+            }
+        }
+
+        return flags;
+    }
+}
@@ -1,10 +1,13 @@
 package com.tacticalrevive.event;
 
+import com.tacticalrevive.bleeding.BleedingJournal;
 import com.tacticalrevive.bleeding.BleedingManager;
+import com.tacticalrevive.bleeding.DisconnectGracePeriod;
+import net.fabricmc.fabric.api.networking.v1.PacketSender;
 import net.minecraft.server.MinecraftServer;
 import net.minecraft.server.network.ServerGamePacketListenerImpl;
+import net.minecraft.server.level.ServerLevel;
 import net.minecraft.server.level.ServerPlayer;
-import java.util.ArrayList;
 import net.minecraft.world.InteractionHand;
 import net.minecraft.world.InteractionResult;
 import net.minecraft.world.entity.Entity;
@@ -22,17 +25,58 @@ public final class PlayerEventHandler {
 
     /**
      * Called every server tick.
-     * Processes bleeding state for all players.
+     * Fires bleeding deadlines that are due; downed players cost nothing otherwise.
      */
     public static void onServerTick(MinecraftServer server) {
-        // Defensive copy to prevent ConcurrentModificationException if player list changes during iteration
-        for (ServerPlayer player : new ArrayList<>(server.getPlayerList().getPlayers())) {
-            if (BleedingManager.isBleeding(player)) {
-                BleedingManager.tickBleeding(player);
-            }
+        BleedingManager.advanceTimers(server.overworld().getGameTime());
+        BleedingManager.flushJournal();
+    }
+
+    /**
+     * Called when a player joins.
+     * Re-registers players whose downed state was restored from saved data.
+     */
+    public static void onPlayerJoin(ServerGamePacketListenerImpl handler, PacketSender sender, MinecraftServer server) {
+        BleedingManager.restoreBleeding(handler.getPlayer());
+    }
+
+    /**
+     * Called when a client starts tracking an entity.
+     * Sends the full state of a downed player so the client never waits for a change.
+     */
+    public static void onStartTracking(Entity trackedEntity, ServerPlayer player) {
+        if (trackedEntity instanceof Player trackedPlayer) {
+            BleedingManager.sendFullState(trackedPlayer, player);
         }
     }
 
+    /**
+     * Called after a player changes dimension.
+     * The client drops its cached state with the old level, so resend the player's own state.
+     */
+    public static void onChangeWorld(ServerPlayer player, ServerLevel origin, ServerLevel destination) {
+        BleedingManager.sendFullState(player, player);
+    }
+
+    /**
+     * Called when the server has started.
+     * Replays the bleeding journal so players get their downed state back after a crash,
+     * and holds disconnected downed players again for the rest of their grace period.
+     */
+    public static void onServerStarted(MinecraftServer server) {
+        BleedingManager.advanceTimers(server.overworld().getGameTime());
+        BleedingJournal.open(server);
+        DisconnectGracePeriod.resume();
+    }
+
+    /**
+     * Called when the server stops.
+     * Drops all cached downed-player references and closes the journal.
+     */
+    public static void onServerStopped(MinecraftServer server) {
+        BleedingManager.clearAll();
+    }
+
     /**
      * Called when a player interacts with an entity.
      * Handles starting revival when right-clicking a bleeding player.
@@ -72,7 +116,7 @@ public final class PlayerEventHandler {
 
     /**
      * Called when a player disconnects.
-     * Kill the player if they disconnect while bleeding.
+     * A downed player is held for the disconnect grace period, or killed if it is disabled.
      */
     public static void onPlayerDisconnect(ServerGamePacketListenerImpl handler, MinecraftServer server) {
         ServerPlayer player = handler.getPlayer();
@@ -80,10 +124,11 @@ public final class PlayerEventHandler {
         // Remove as helper from all bleeding players
         BleedingManager.removeHelperFromAll(player);
 
-        // Kill if bleeding
-        if (BleedingManager.isBleeding(player)) {
+        // Hold for the grace period if enabled, otherwise kill
+        if (BleedingManager.isBleeding(player) && !BleedingManager.suspend(player)) {
             BleedingManager.kill(player);
         }
+        BleedingManager.forgetPlayer(player);
     }
 
     /**
@@ -91,6 +136,10 @@ public final class PlayerEventHandler {
      * Reset bleeding state.
      */
     public static void onPlayerRespawn(ServerPlayer oldPlayer, ServerPlayer newPlayer, boolean alive) {
+        // Helpers are tracked by entity id, which changes on respawn
+        BleedingManager.removeHelperFromAll(oldPlayer);
+        BleedingManager.forgetPlayer(oldPlayer);
+
         var bleeding = BleedingManager.getBleeding(newPlayer);
         if (bleeding != null) {
             bleeding.reset();
@@ -9,7 +9,6 @@ import com.tacz.guns.api.event.common.GunShootEvent;
 import net.minecraft.world.entity.Entity;
 import net.minecraft.world.entity.LivingEntity;
 
-import java.util.function.BiFunction;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
 
@@ -37,21 +36,52 @@ public final class TaczEventBridge {
     private TaczEventBridge() {
     }
 
+    /**
+     * Handler for EntityHurtByGunEvent.Pre.
+     * Takes the damage as a primitive so nothing is boxed per bullet.
+     */
+    @FunctionalInterface
+    public interface GunHurtPreHandler {
+        /**
+         * @param hurtEntity the entity being hurt
+         * @param damage     base damage times the headshot multiplier
+         * @return true to cancel the event
+         */
+        boolean shouldCancel(Entity hurtEntity, float damage);
+    }
+
+    /**
+     * Handler for EntityHurtByGunEvent.Post.
+     */
+    @FunctionalInterface
+    public interface GunHurtPostHandler {
+        /**
+         * @param hurtEntity the entity that was hurt
+         * @param damage     base damage times the headshot multiplier
+         */
+        void onHurt(Entity hurtEntity, float damage);
+    }
+
     /**
      * Register a handler for EntityHurtByGunEvent.Pre
      * Cancelling this event prevents tacAttackEntity from running,
      * which avoids the double hurt() call and invulnerableTime reset.
      *
-     * @param handler function that receives (hurtEntity, damage) and returns true to cancel
+     * <p>TACZ fires this for every bullet impact on every entity, so the filter
+     * runs first and the damage is only computed for entities it accepts.
+     *
+     * @param filter  cheap check on the hurt entity; the handler only runs if it passes
+     * @param handler receives (hurtEntity, damage) and returns true to cancel
      */
-    public static void registerPreEventHandler(BiFunction<Entity, Float, Boolean> handler) {
+    public static void registerPreEventHandler(Predicate<Entity> filter, GunHurtPreHandler handler) {
         EntityHurtByGunEvent.PRE.register(event -> {
             Entity hurtEntity = event.getHurtEntity();
-            float damage = event.getBaseAmount() * event.getHeadshotMultiplier();
-
-            boolean shouldCancel = handler.apply(hurtEntity, damage);
+            if (!filter.test(hurtEntity)) {
+                return;
+            }
 
-            if (shouldCancel) {
+            float damage = event.getBaseAmount() * event.getHeadshotMultiplier();
+            if (handler.shouldCancel(hurtEntity, damage)) {
                 event.setCanceled(true);
             }
         });
@@ -61,13 +91,15 @@ public final class TaczEventBridge {
      * Register a handler for EntityHurtByGunEvent.Post
      * This fires after damage is applied but only if the entity survived.
      *
-     * @param handler function that receives (hurtEntity, damage)
+     * @param filter  cheap check on the hurt entity; the handler only runs if it passes
+     * @param handler receives (hurtEntity, damage)
      */
-    public static void registerPostEventHandler(BiFunction<Entity, Float, Void> handler) {
+    public static void registerPostEventHandler(Predicate<Entity> filter, GunHurtPostHandler handler) {
         EntityHurtByGunEvent.POST.register(event -> {
             Entity hurtEntity = event.getHurtEntity();
-            float damage = event.getBaseAmount() * event.getHeadshotMultiplier();
-            handler.apply(hurtEntity, damage);
+            if (filter.test(hurtEntity)) {
+                handler.onHurt(hurtEntity, event.getBaseAmount() * event.getHeadshotMultiplier());
+            }
         });
     }
 
@@ -92,6 +124,19 @@ public final class TaczEventBridge {
     // ========== Gun Action Event Handlers ==========
     // These prevent downed players from performing gun actions
 
+    /**
+     * Register one gate for every gun action: shoot, fire, reload and melee.
+     * Cancelling any of them stops the action.
+     *
+     * @param shouldCancel predicate that returns true to cancel
+     */
+    public static void registerGunActionGate(Predicate<LivingEntity> shouldCancel) {
+        registerShootEventHandler(shouldCancel);
+        registerFireEventHandler(shouldCancel);
+        registerReloadEventHandler(shouldCancel);
+        registerMeleeEventHandler(shouldCancel);
+    }
+
     /**
      * Register a handler for GunShootEvent (trigger pull).
      * Cancelling prevents the shot from being processed.
@@ -6,6 +6,8 @@ import net.minecraft.world.entity.Entity;
 import net.minecraft.world.entity.LivingEntity;
 import net.minecraft.world.entity.player.Player;
 
+import java.util.concurrent.atomic.LongAdder;
+
 /**
  * Handles TACZ-specific events for damage interception and action restriction.
  * Uses reflection to avoid hard dependency on TACZ.
@@ -25,6 +27,8 @@ import net.minecraft.world.entity.player.Player;
 public final class TaczEventHandler {
 
     private static boolean taczAvailable = false;
+    // Gun events can fire on either logical side, so the count may be bumped off the server thread
+    private static final LongAdder cancelledGunActions = new LongAdder();
 
     private TaczEventHandler() {
     }
@@ -57,7 +61,8 @@ public final class TaczEventHandler {
         try {
             // === Damage Event Handlers ===
             // Register Pre event handler - this is the main damage interception point
-            TaczEventBridge.registerPreEventHandler(TaczEventHandler::onEntityHurtByGunPre);
+            TaczEventBridge.registerPreEventHandler(TaczEventHandler::isDownedPlayer,
+                    TaczEventHandler::onEntityHurtByGunPre);
             TacticalRevive.LOGGER.info("TACZ EntityHurtByGunEvent.Pre handler registered");
 
             // Register Kill event handler - for debugging false positives
@@ -65,77 +70,57 @@ public final class TaczEventHandler {
             TacticalRevive.LOGGER.info("TACZ EntityKillByGunEvent handler registered");
 
             // Register Post event handler - for initial damage detection
-            TaczEventBridge.registerPostEventHandler(TaczEventHandler::onEntityHurtByGunPost);
+            TaczEventBridge.registerPostEventHandler(TaczEventHandler::isDownedPlayer,
+                    TaczEventHandler::onEntityHurtByGunPost);
             TacticalRevive.LOGGER.info("TACZ EntityHurtByGunEvent.Post handler registered");
 
             // === Gun Action Event Handlers ===
-            // Prevent downed players from shooting
-            TaczEventBridge.registerShootEventHandler(TaczEventHandler::shouldCancelGunAction);
-            TacticalRevive.LOGGER.info("TACZ GunShootEvent handler registered");
-
-            // Prevent downed players from firing (backup for burst mode)
-            TaczEventBridge.registerFireEventHandler(TaczEventHandler::shouldCancelGunAction);
-            TacticalRevive.LOGGER.info("TACZ GunFireEvent handler registered");
-
-            // Prevent downed players from reloading
-            TaczEventBridge.registerReloadEventHandler(TaczEventHandler::shouldCancelGunAction);
-            TacticalRevive.LOGGER.info("TACZ GunReloadEvent handler registered");
-
-            // Prevent downed players from melee attacks
-            TaczEventBridge.registerMeleeEventHandler(TaczEventHandler::shouldCancelGunAction);
-            TacticalRevive.LOGGER.info("TACZ GunMeleeEvent handler registered");
+            // Prevent downed players from shooting, firing (burst mode), reloading and melee
+            TaczEventBridge.registerGunActionGate(TaczEventHandler::shouldCancelGunAction);
+            TacticalRevive.LOGGER.info("TACZ gun action handlers registered");
         } catch (Exception e) {
             TacticalRevive.LOGGER.error("Failed to register TACZ event handlers", e);
         }
     }
 
     /**
-     * Handle TACZ EntityHurtByGunEvent.Pre
+     * Filter for the gun hurt events: only downed players need handling.
+     *
+     * @param entity the entity hit by a bullet
+     * @return true if the entity is a downed player
+     */
+    public static boolean isDownedPlayer(Entity entity) {
+        return BleedingManager.isDowned(entity);
+    }
+
+    /**
+     * Handle TACZ EntityHurtByGunEvent.Pre for a downed player.
      * Cancel damage to downed players to prevent:
      * - Double hurt() calls
      * - invulnerableTime resets
      * - Any additional gun damage
      *
-     * @param hurtEntity the entity being hurt
+     * @param hurtEntity the downed player being hurt
      * @param damage the damage amount
      * @return true to cancel the event
      */
     public static boolean onEntityHurtByGunPre(Entity hurtEntity, float damage) {
-        if (!(hurtEntity instanceof Player player)) {
-            return false; // Don't cancel for non-players
-        }
-
-        // Cancel damage if player is downed
-        if (BleedingManager.isBleeding(player)) {
-            TacticalRevive.LOGGER.debug("Cancelling TACZ damage ({}) to downed player: {}",
-                    damage, player.getName().getString());
-            return true; // Cancel the event - prevents tacAttackEntity from running
-        }
-
-        return false; // Allow damage - player not downed
+        TacticalRevive.LOGGER.debug("Cancelling TACZ damage ({}) to downed player: {}",
+                damage, hurtEntity.getName().getString());
+        return true; // Cancel the event - prevents tacAttackEntity from running
     }
 
     /**
-     * Handle TACZ EntityHurtByGunEvent.Post
-     * This fires after damage is applied if the entity survived.
-     * Used for logging and potential future enhancements.
+     * Handle TACZ EntityHurtByGunEvent.Post for a downed player.
+     * This fires after damage is applied if the entity survived, which should not
+     * happen for a downed player since Pre is cancelled.
      *
-     * @param hurtEntity the entity that was hurt
+     * @param hurtEntity the downed player that was hurt
      * @param damage the damage amount
-     * @return null (no return value needed)
      */
-    public static Void onEntityHurtByGunPost(Entity hurtEntity, float damage) {
-        if (!(hurtEntity instanceof Player player)) {
-            return null;
-        }
-
-        // Log if a downed player somehow received Post event (shouldn't happen)
-        if (BleedingManager.isBleeding(player)) {
-            TacticalRevive.LOGGER.warn("Unexpected: Downed player {} received Post event with damage {}",
-                    player.getName().getString(), damage);
-        }
-
-        return null;
+    public static void onEntityHurtByGunPost(Entity hurtEntity, float damage) {
+        TacticalRevive.LOGGER.warn("Unexpected: Downed player {} received Post event with damage {}",
+                hurtEntity.getName().getString(), damage);
     }
 
     /**
@@ -164,22 +149,26 @@ public final class TaczEventHandler {
      * Check if a gun action should be cancelled for this entity.
      * Used by all gun action event handlers (shoot, fire, reload, melee).
      *
+     * <p>Automatic weapons fire several times a second per shooter, so shooters
+     * who are not downed return after the registry and flag checks, and
+     * cancellations are counted rather than logged.
+     *
      * @param entity the entity performing the action
      * @return true to cancel the action
      */
     public static boolean shouldCancelGunAction(LivingEntity entity) {
-        if (!(entity instanceof Player player)) {
-            return false; // Allow non-players
-        }
-
-        // Cancel if player is downed
-        if (BleedingManager.isBleeding(player)) {
-            TacticalRevive.LOGGER.debug("Cancelling gun action for downed player: {}",
-                    player.getName().getString());
-            return true;
+        if (!BleedingManager.isDowned(entity)) {
+            return false;
         }
+        cancelledGunActions.increment();
+        return true;
+    }
 
-        return false;
+    /**
+     * @return number of gun actions cancelled for downed players since startup
+     */
+    public static long getCancelledGunActionCount() {
+        return cancelledGunActions.sum();
     }
 
     /**
@@ -0,0 +1,285 @@
+package com.tacticalrevive.loadtest;
+
+import com.mojang.authlib.GameProfile;
+import com.tacticalrevive.TacticalRevive;
+import com.tacticalrevive.bleeding.BleedingManager;
+import com.tacticalrevive.event.TaczEventHandler;
+import com.tacticalrevive.network.NetworkHandler;
+import net.fabricmc.fabric.api.entity.FakePlayer;
+import net.minecraft.commands.CommandSourceStack;
+import net.minecraft.core.Holder;
+import net.minecraft.core.registries.Registries;
+import net.minecraft.network.chat.Component;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.damagesource.DamageSource;
+import net.minecraft.world.damagesource.DamageType;
+import net.minecraft.world.phys.Vec3;
+
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Server-side load test for the revive system.
+ *
+ * <p>Spawns fake players around a point and, every tick, shoots healthy ones
+ * with a simulated TACZ bullet (two lethal {@code hurt()} calls in the same tick,
+ * which goes through the normal death interception) and assigns helpers to
+ * downed ones. Revives and bleed-outs then happen through the normal timers;
+ * players who bleed out are replaced. At the end, server tick time percentiles,
+ * bleeding packet counts per tick, the number of players still downed and the
+ * gun actions cancelled for downed players are reported.
+ */
+public final class LoadTest {
+
+    private static final ResourceKey<DamageType> TACZ_BULLET = ResourceKey.create(Registries.DAMAGE_TYPE,
+            ResourceLocation.fromNamespaceAndPath("tacz", "bullet"));
+    private static final float BULLET_DAMAGE = 1000.0f;
+    private static final double SPREAD = 1.0; // blocks, keeps everyone within revive distance
+
+    private static LoadTest active = null;
+
+    private final CommandSourceStack source;
+    private final ServerLevel level;
+    private final Vec3 origin;
+    private final int durationTicks;
+    private final float knockoutChance;
+    private final float helperChance;
+    private final Random random = new Random();
+
+    private final FakePlayer[] players;
+    private final boolean[] wasBleeding;
+    private final long[] tickNanos;
+    private int tick = 0;
+    private int generation = 0;
+    private long tickStart = 0;
+
+    private final long payloadsAtStart;
+    private final long updatesAtStart;
+    private final long cancelledGunActionsAtStart;
+    private long maxPayloadsPerTick = 0;
+    private long lastPayloads;
+
+    private int knockouts = 0;
+    private int revives = 0;
+    private int bleedOuts = 0;
+
+    private LoadTest(CommandSourceStack source, int playerCount, int durationTicks,
+                     float knockoutChance, float helperChance) {
+        this.source = source;
+        this.level = source.getLevel();
+        this.origin = source.getPosition();
+        this.durationTicks = durationTicks;
+        this.knockoutChance = knockoutChance;
+        this.helperChance = helperChance;
+        this.players = new FakePlayer[playerCount];
+        this.wasBleeding = new boolean[playerCount];
+        this.tickNanos = new long[durationTicks];
+        this.payloadsAtStart = NetworkHandler.getSentPayloadCount();
+        this.updatesAtStart = NetworkHandler.getSentUpdateCount();
+        this.cancelledGunActionsAtStart = TaczEventHandler.getCancelledGunActionCount();
+        this.lastPayloads = payloadsAtStart;
+    }
+
+    /**
+     * Spawn the fake players and start a load test.
+     *
+     * @return false if a load test is already running
+     */
+    public static boolean start(CommandSourceStack source, int playerCount, int durationTicks,
+                                float knockoutChance, float helperChance) {
+        if (active != null) {
+            return false;
+        }
+
+        LoadTest test = new LoadTest(source, playerCount, durationTicks, knockoutChance, helperChance);
+        for (int i = 0; i < playerCount; i++) {
+            test.spawn(i);
+        }
+        active = test;
+
+        TacticalRevive.LOGGER.info("Load test started: {} players, {} ticks, knockout chance {}, helper chance {}",
+                playerCount, durationTicks, knockoutChance, helperChance);
+        return true;
+    }
+
+    /**
+     * Stop the running load test and report what it measured so far.
+     *
+     * @return false if no load test is running
+     */
+    public static boolean stop() {
+        if (active == null) {
+            return false;
+        }
+        active.finish();
+        return true;
+    }
+
+    /**
+     * Called at the start of each server tick.
+     */
+    public static void onStartTick(MinecraftServer server) {
+        if (active != null) {
+            active.tickStart = System.nanoTime();
+            active.drive();
+        }
+    }
+
+    /**
+     * Called at the end of each server tick, after bleeding updates are flushed.
+     */
+    public static void onEndTick(MinecraftServer server) {
+        if (active != null) {
+            active.record();
+        }
+    }
+
+    /**
+     * Called when the server stops. Discards the fake players without a report.
+     */
+    public static void onServerStopping(MinecraftServer server) {
+        if (active != null) {
+            active.despawnAll();
+            active = null;
+        }
+    }
+
+    private void spawn(int slot) {
+        String name = "tr_load_" + slot + "_" + generation++;
+        GameProfile profile = new GameProfile(UUID.randomUUID(), name);
+        FakePlayer player = FakePlayer.get(level, profile);
+
+        double x = origin.x + (random.nextDouble() * 2 - 1) * SPREAD;
+        double z = origin.z + (random.nextDouble() * 2 - 1) * SPREAD;
+        player.moveTo(x, origin.y, z, 0.0f, 0.0f);
+        player.setHealth(player.getMaxHealth());
+
+        // Added to the level so revival is active and tracking and helper range checks apply
+        level.addNewPlayer(player);
+
+        players[slot] = player;
+        wasBleeding[slot] = false;
+    }
+
+    private void despawn(FakePlayer player) {
+        BleedingManager.removeHelperFromAll(player);
+        if (BleedingManager.isBleeding(player)) {
+            BleedingManager.revive(player);
+        }
+        BleedingManager.forgetPlayer(player);
+        player.discard();
+    }
+
+    private void despawnAll() {
+        for (FakePlayer player : players) {
+            if (player != null) {
+                despawn(player);
+            }
+        }
+        Arrays.fill(players, null);
+    }
+
+    private void drive() {
+        DamageSource bullet = bulletSource();
+
+        for (int i = 0; i < players.length; i++) {
+            FakePlayer player = players[i];
+            boolean bleeding = BleedingManager.isBleeding(player);
+
+            // Count transitions made by the timers since the last tick
+            if (wasBleeding[i] && !bleeding) {
+                if (player.isDeadOrDying() || player.isRemoved()) {
+                    bleedOuts++;
+                } else {
+                    revives++;
+                }
+            }
+
+            if (!bleeding && (player.isDeadOrDying() || player.isRemoved())) {
+                despawn(player);
+                spawn(i);
+                continue;
+            }
+
+            if (!bleeding) {
+                if (random.nextFloat() < knockoutChance) {
+                    // TACZ calls hurt() twice per bullet; the second must be absorbed
+                    player.invulnerableTime = 0;
+                    player.hurt(bullet, BULLET_DAMAGE);
+                    player.invulnerableTime = 0;
+                    player.hurt(bullet, BULLET_DAMAGE);
+
+                    bleeding = BleedingManager.isBleeding(player);
+                    if (bleeding) {
+                        knockouts++;
+                    }
+                }
+            } else if (BleedingManager.getBleeding(player).getHelperCount() == 0
+                    && random.nextFloat() < helperChance) {
+                FakePlayer helper = players[random.nextInt(players.length)];
+                if (helper != player && !BleedingManager.isBleeding(helper) && helper.isAlive()) {
+                    BleedingManager.addHelper(player, helper);
+                }
+            }
+
+            wasBleeding[i] = bleeding;
+        }
+    }
+
+    private DamageSource bulletSource() {
+        Optional<Holder.Reference<DamageType>> taczBullet = level.registryAccess()
+                .registryOrThrow(Registries.DAMAGE_TYPE)
+                .getHolder(TACZ_BULLET);
+        return taczBullet.map(DamageSource::new).orElseGet(() -> level.damageSources().generic());
+    }
+
+    private void record() {
+        long payloads = NetworkHandler.getSentPayloadCount();
+        maxPayloadsPerTick = Math.max(maxPayloadsPerTick, payloads - lastPayloads);
+        lastPayloads = payloads;
+
+        tickNanos[tick++] = System.nanoTime() - tickStart;
+        if (tick >= durationTicks) {
+            finish();
+        }
+    }
+
+    private void finish() {
+        int downedAtEnd = BleedingManager.getActiveBleederCount();
+        despawnAll();
+        active = null;
+
+        int ticks = Math.max(tick, 1);
+        long[] sorted = Arrays.copyOf(tickNanos, tick);
+        Arrays.sort(sorted);
+
+        long payloads = NetworkHandler.getSentPayloadCount() - payloadsAtStart;
+        long updates = NetworkHandler.getSentUpdateCount() - updatesAtStart;
+        long cancelledGunActions = TaczEventHandler.getCancelledGunActionCount() - cancelledGunActionsAtStart;
+
+        String report = String.format(
+                "Load test: %d players, %d ticks, %d knockouts, %d revives, %d bleed-outs, %d downed at end | "
+                        + "tick ms p50 %.2f p90 %.2f p99 %.2f max %.2f | "
+                        + "payloads/tick avg %.1f max %d, updates/tick avg %.1f | %d gun actions cancelled",
+                players.length, tick, knockouts, revives, bleedOuts, downedAtEnd,
+                percentileMillis(sorted, 0.50), percentileMillis(sorted, 0.90),
+                percentileMillis(sorted, 0.99), percentileMillis(sorted, 1.0),
+                (double) payloads / ticks, maxPayloadsPerTick, (double) updates / ticks, cancelledGunActions);
+
+        TacticalRevive.LOGGER.info(report);
+        source.sendSuccess(() -> Component.literal(report), true);
+    }
+
+    private static double percentileMillis(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0.0;
+        }
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))] / 1_000_000.0;
+    }
+}
@@ -0,0 +1,70 @@
+package com.tacticalrevive.loadtest;
+
+import com.mojang.brigadier.CommandDispatcher;
+import com.mojang.brigadier.arguments.FloatArgumentType;
+import com.mojang.brigadier.arguments.IntegerArgumentType;
+import com.mojang.brigadier.context.CommandContext;
+import net.minecraft.commands.CommandBuildContext;
+import net.minecraft.commands.CommandSourceStack;
+import net.minecraft.commands.Commands;
+import net.minecraft.network.chat.Component;
+
+/**
+ * {@code /tacticalrevive loadtest start <players> [ticks] [knockoutChance] [helperChance]}
+ * and {@code /tacticalrevive loadtest stop}. Requires permission level 4.
+ */
+public final class LoadTestCommand {
+
+    private static final int DEFAULT_TICKS = 1200; // 60 seconds
+    private static final float DEFAULT_KNOCKOUT_CHANCE = 0.01f; // per healthy player per tick
+    private static final float DEFAULT_HELPER_CHANCE = 0.05f; // per unassisted downed player per tick
+
+    private LoadTestCommand() {
+    }
+
+    public static void register(CommandDispatcher<CommandSourceStack> dispatcher,
+                                CommandBuildContext buildContext, Commands.CommandSelection selection) {
+        dispatcher.register(Commands.literal("tacticalrevive")
+                .requires(source -> source.hasPermission(4))
+                .then(Commands.literal("loadtest")
+                        .then(Commands.literal("start")
+                                .then(Commands.argument("players", IntegerArgumentType.integer(2, 1000))
+                                        .executes(ctx -> start(ctx, DEFAULT_TICKS,
+                                                DEFAULT_KNOCKOUT_CHANCE, DEFAULT_HELPER_CHANCE))
+                                        .then(Commands.argument("ticks", IntegerArgumentType.integer(1))
+                                                .executes(ctx -> start(ctx, IntegerArgumentType.getInteger(ctx, "ticks"),
+                                                        DEFAULT_KNOCKOUT_CHANCE, DEFAULT_HELPER_CHANCE))
+                                                .then(Commands.argument("knockoutChance", FloatArgumentType.floatArg(0, 1))
+                                                        .executes(ctx -> start(ctx,
+                                                                IntegerArgumentType.getInteger(ctx, "ticks"),
+                                                                FloatArgumentType.getFloat(ctx, "knockoutChance"),
+                                                                DEFAULT_HELPER_CHANCE))
+                                                        .then(Commands.argument("helperChance", FloatArgumentType.floatArg(0, 1))
+                                                                .executes(ctx -> start(ctx,
+                                                                        IntegerArgumentType.getInteger(ctx, "ticks"),
+                                                                        FloatArgumentType.getFloat(ctx, "knockoutChance"),
+                                                                        FloatArgumentType.getFloat(ctx, "helperChance"))))))))
+                        .then(Commands.literal("stop")
+                                .executes(LoadTestCommand::stop))));
+    }
+
+    private static int start(CommandContext<CommandSourceStack> ctx, int ticks,
+                             float knockoutChance, float helperChance) {
+        int players = IntegerArgumentType.getInteger(ctx, "players");
+        if (!LoadTest.start(ctx.getSource(), players, ticks, knockoutChance, helperChance)) {
+            ctx.getSource().sendFailure(Component.literal("A load test is already running"));
+            return 0;
+        }
+        ctx.getSource().sendSuccess(() -> Component.literal(
+                "Load test started with " + players + " fake players for " + ticks + " ticks"), true);
+        return 1;
+    }
+
+    private static int stop(CommandContext<CommandSourceStack> ctx) {
+        if (!LoadTest.stop()) {
+            ctx.getSource().sendFailure(Component.literal("No load test is running"));
+            return 0;
+        }
+        return 1;
+    }
+}
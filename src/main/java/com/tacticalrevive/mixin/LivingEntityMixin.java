@@ -1,34 +1,52 @@
 package com.tacticalrevive.mixin;
 
 import com.tacticalrevive.bleeding.BleedingManager;
+import com.tacticalrevive.config.RegionRules;
 import com.tacticalrevive.event.DamageEventHandler;
 import net.minecraft.world.damagesource.DamageSource;
 import net.minecraft.world.entity.LivingEntity;
-import net.minecraft.world.entity.player.Player;
 import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Unique;
 import org.spongepowered.asm.mixin.injection.At;
 import org.spongepowered.asm.mixin.injection.Inject;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
 
 /**
  * Mixin to intercept damage to bleeding players.
+ *
+ * <p>Carries the downed flag maintained by {@link BleedingManager}, so every
+ * entity that is not a downed player leaves the hurt hook after one field read.
  */
 @Mixin(LivingEntity.class)
-public abstract class LivingEntityMixin {
+public abstract class LivingEntityMixin implements BleedingManager.IDownedFlag {
+
+    @Unique
+    private boolean tacticalrevive$downed = false;
+
+    @Override
+    public boolean tacticalrevive$isDowned() {
+        return tacticalrevive$downed;
+    }
+
+    @Override
+    public void tacticalrevive$setDowned(boolean downed) {
+        this.tacticalrevive$downed = downed;
+    }
 
     /**
      * Intercept damage to bleeding players.
      */
     @Inject(method = "hurt", at = @At("HEAD"), cancellable = true)
     private void tacticalrevive$onHurt(DamageSource source, float amount, CallbackInfoReturnable<Boolean> cir) {
-        LivingEntity self = (LivingEntity) (Object) this;
-
-        if (!(self instanceof Player player)) {
+        if (!tacticalrevive$downed) {
             return;
         }
 
-        // Block damage to bleeding players if configured
-        if (DamageEventHandler.shouldBlockDamage(player, source)) {
+        // Only players are ever flagged, and only while registered as bleeding
+        var bleeding = ((BleedingManager.IBleedingAccessor) this).tacticalrevive$getBleedingData();
+
+        // Block damage to bleeding players if configured for where they are
+        if (DamageEventHandler.shouldBlockDamage(bleeding, RegionRules.at((LivingEntity) (Object) this), source)) {
             cir.setReturnValue(false);
         }
     }
@@ -5,6 +5,7 @@ import com.tacticalrevive.bleeding.BleedingManager;
 import net.minecraft.world.InteractionHand;
 import net.minecraft.world.InteractionResult;
 import net.minecraft.world.entity.Entity;
+import net.minecraft.world.entity.Pose;
 import net.minecraft.world.entity.player.Player;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.Unique;
@@ -20,14 +21,28 @@ import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
 @Mixin(Player.class)
 public abstract class PlayerMixin implements BleedingManager.IBleedingAccessor {
 
+    // Null while healthy; created when the player is knocked out or loaded as downed
     @Unique
-    private final BleedingData tacticalrevive$bleedingData = new BleedingData();
+    private BleedingData tacticalrevive$bleedingData = null;
 
     @Override
     public BleedingData tacticalrevive$getBleedingData() {
         return tacticalrevive$bleedingData;
     }
 
+    @Override
+    public BleedingData tacticalrevive$getOrCreateBleedingData() {
+        if (tacticalrevive$bleedingData == null) {
+            tacticalrevive$bleedingData = new BleedingData();
+        }
+        return tacticalrevive$bleedingData;
+    }
+
+    @Override
+    public void tacticalrevive$releaseBleedingData() {
+        tacticalrevive$bleedingData = null;
+    }
+
     /**
      * Prevent bleeding players from being seen as enemies by mobs initially.
      */
@@ -39,14 +54,27 @@ public abstract class PlayerMixin implements BleedingManager.IBleedingAccessor {
             var bleeding = BleedingManager.getBleeding(self);
             if (bleeding != null) {
                 // Hide from mobs during initial cooldown
-                int cooldown = com.tacticalrevive.config.TacticalReviveConfig.getInitialDamageCooldown();
-                if (bleeding.getDownedTime() < cooldown) {
+                if (bleeding.isInDamageCooldown()) {
                     cir.setReturnValue(false);
                 }
             }
         }
     }
 
+    /**
+     * Keep bleeding players in the crawling pose.
+     * Replaces the vanilla pose update so no per-tick pose maintenance is needed.
+     */
+    @Inject(method = "updatePlayerPose", at = @At("HEAD"), cancellable = true)
+    private void tacticalrevive$updatePlayerPose(CallbackInfo ci) {
+        Player self = (Player) (Object) this;
+
+        if (BleedingManager.isBleeding(self)) {
+            self.setPose(Pose.SWIMMING);
+            ci.cancel();
+        }
+    }
+
     /**
      * Prevent bleeding players from attacking entities.
      */
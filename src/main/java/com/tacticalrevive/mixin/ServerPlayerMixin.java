@@ -1,6 +1,7 @@
 package com.tacticalrevive.mixin;
 
 import com.tacticalrevive.bleeding.BleedingData;
+import com.tacticalrevive.bleeding.BleedingJournal;
 import com.tacticalrevive.bleeding.BleedingManager;
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.server.level.ServerPlayer;
@@ -19,15 +20,18 @@ public abstract class ServerPlayerMixin {
 
     /**
      * Save bleeding data when player data is saved.
+     * Nothing is written for players who are not downed.
      */
     @Inject(method = "addAdditionalSaveData", at = @At("TAIL"))
     private void tacticalrevive$saveData(CompoundTag tag, CallbackInfo ci) {
-        ServerPlayer self = (ServerPlayer) (Object) this;
-        BleedingData data = getBleedingData(self);
+        BleedingData data = ((BleedingManager.IBleedingAccessor) this).tacticalrevive$getBleedingData();
 
-        if (data != null) {
+        if (data != null && data.isBleeding()) {
             tag.put(BLEEDING_DATA_KEY, data.toNbt());
         }
+
+        // Saved data now reflects any revive or death the journal was holding on to
+        BleedingJournal.markSaved(((ServerPlayer) (Object) this).getUUID());
     }
 
     /**
@@ -35,11 +39,17 @@ public abstract class ServerPlayerMixin {
      */
     @Inject(method = "readAdditionalSaveData", at = @At("TAIL"))
     private void tacticalrevive$loadData(CompoundTag tag, CallbackInfo ci) {
-        ServerPlayer self = (ServerPlayer) (Object) this;
-        BleedingData data = getBleedingData(self);
+        if (!tag.contains(BLEEDING_DATA_KEY)) {
+            return;
+        }
 
-        if (data != null && tag.contains(BLEEDING_DATA_KEY)) {
-            data.fromNbt(tag.getCompound(BLEEDING_DATA_KEY));
+        BleedingManager.IBleedingAccessor accessor = (BleedingManager.IBleedingAccessor) this;
+        BleedingData data = accessor.tacticalrevive$getOrCreateBleedingData();
+        data.fromNbt(tag.getCompound(BLEEDING_DATA_KEY));
+
+        // Older saves wrote a compound for healthy players too
+        if (!data.isBleeding()) {
+            accessor.tacticalrevive$releaseBleedingData();
         }
     }
 
@@ -49,18 +59,6 @@ public abstract class ServerPlayerMixin {
     @Inject(method = "restoreFrom", at = @At("TAIL"))
     private void tacticalrevive$copyFrom(ServerPlayer oldPlayer, boolean alive, CallbackInfo ci) {
         // Don't copy bleeding state - it should be reset on respawn
-        ServerPlayer self = (ServerPlayer) (Object) this;
-        BleedingData data = getBleedingData(self);
-
-        if (data != null) {
-            data.reset();
-        }
-    }
-
-    private static BleedingData getBleedingData(ServerPlayer player) {
-        if (player instanceof BleedingManager.IBleedingAccessor accessor) {
-            return accessor.tacticalrevive$getBleedingData();
-        }
-        return null;
+        ((BleedingManager.IBleedingAccessor) this).tacticalrevive$releaseBleedingData();
     }
 }
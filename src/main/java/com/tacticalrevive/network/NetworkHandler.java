@@ -1,18 +1,34 @@
 package com.tacticalrevive.network;
 
 import com.tacticalrevive.TacticalRevive;
+import com.tacticalrevive.network.packet.BleedingSnapshotPacket;
 import com.tacticalrevive.network.packet.BleedingUpdatePacket;
 import net.fabricmc.fabric.api.networking.v1.PayloadTypeRegistry;
 import net.fabricmc.fabric.api.networking.v1.PlayerLookup;
 import net.fabricmc.fabric.api.networking.v1.ServerPlayNetworking;
-import net.minecraft.network.protocol.common.custom.CustomPacketPayload;
+import net.minecraft.server.MinecraftServer;
 import net.minecraft.server.level.ServerPlayer;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
 /**
  * Handles network packet registration and sending.
  */
 public final class NetworkHandler {
 
+    /**
+     * Bleeding updates queued this tick, per recipient.
+     * Flushed at the end of the server tick as one payload per recipient.
+     */
+    private static final Map<ServerPlayer, List<BleedingUpdatePacket>> outbox = new LinkedHashMap<>();
+
+    // Running totals for load testing
+    private static long sentPayloads = 0;
+    private static long sentUpdates = 0;
+
     private NetworkHandler() {
     }
 
@@ -25,32 +41,80 @@ public final class NetworkHandler {
                 BleedingUpdatePacket.TYPE,
                 BleedingUpdatePacket.CODEC
         );
+        PayloadTypeRegistry.playS2C().register(
+                BleedingSnapshotPacket.TYPE,
+                BleedingSnapshotPacket.CODEC
+        );
 
         TacticalRevive.LOGGER.debug("Network packets registered");
     }
 
     /**
-     * Send a packet to a specific player.
+     * Queue a bleeding update for a player and everyone tracking them.
+     * Updates are coalesced per recipient and sent by {@link #flushOutbox}.
      */
-    public static void sendToPlayer(ServerPlayer player, CustomPacketPayload payload) {
-        ServerPlayNetworking.send(player, payload);
+    public static void queueToTrackingAndSelf(ServerPlayer trackedPlayer, BleedingUpdatePacket update) {
+        queue(trackedPlayer, update);
+        for (ServerPlayer player : PlayerLookup.tracking(trackedPlayer)) {
+            queue(player, update);
+        }
     }
 
     /**
-     * Send a packet to all players tracking an entity.
+     * Queue a bleeding update for a single recipient.
      */
-    public static void sendToTracking(ServerPlayer trackedPlayer, CustomPacketPayload payload) {
-        for (ServerPlayer player : PlayerLookup.tracking(trackedPlayer)) {
-            ServerPlayNetworking.send(player, payload);
+    public static void queue(ServerPlayer recipient, BleedingUpdatePacket update) {
+        List<BleedingUpdatePacket> pending = outbox.computeIfAbsent(recipient, player -> new ArrayList<>(2));
+
+        // Coalesce repeated updates for the same player within the tick
+        for (int i = 0; i < pending.size(); i++) {
+            BleedingUpdatePacket existing = pending.get(i);
+            if (existing.entityId() == update.entityId()) {
+                pending.set(i, existing.merge(update));
+                return;
+            }
         }
+        pending.add(update);
     }
 
     /**
-     * Send a packet to all players on the server.
+     * Send every queued bleeding update, one payload per recipient.
+     * Called at the end of each server tick.
      */
-    public static void sendToAll(ServerPlayer source, CustomPacketPayload payload) {
-        for (ServerPlayer player : source.server.getPlayerList().getPlayers()) {
-            ServerPlayNetworking.send(player, payload);
+    public static void flushOutbox(MinecraftServer server) {
+        if (outbox.isEmpty()) {
+            return;
         }
+
+        for (Map.Entry<ServerPlayer, List<BleedingUpdatePacket>> entry : outbox.entrySet()) {
+            ServerPlayer recipient = entry.getKey();
+            if (recipient.hasDisconnected()) {
+                continue;
+            }
+
+            List<BleedingUpdatePacket> updates = entry.getValue();
+            sentPayloads++;
+            sentUpdates += updates.size();
+            if (updates.size() == 1) {
+                ServerPlayNetworking.send(recipient, updates.get(0));
+            } else {
+                ServerPlayNetworking.send(recipient, new BleedingSnapshotPacket(updates));
+            }
+        }
+        outbox.clear();
+    }
+
+    /**
+     * @return bleeding payloads sent since startup
+     */
+    public static long getSentPayloadCount() {
+        return sentPayloads;
+    }
+
+    /**
+     * @return per-player bleeding updates sent since startup, counting each snapshot entry
+     */
+    public static long getSentUpdateCount() {
+        return sentUpdates;
     }
 }
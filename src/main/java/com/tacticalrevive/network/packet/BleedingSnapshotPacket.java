@@ -0,0 +1,52 @@
+package com.tacticalrevive.network.packet;
+
+import com.tacticalrevive.TacticalRevive;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.network.codec.StreamCodec;
+import net.minecraft.network.protocol.common.custom.CustomPacketPayload;
+import net.minecraft.resources.ResourceLocation;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Packet sent from server to client carrying bleeding updates for several players.
+ * Used when one recipient has more than one pending update in the same tick.
+ */
+public record BleedingSnapshotPacket(
+        List<BleedingUpdatePacket> entries
+) implements CustomPacketPayload {
+
+    public static final ResourceLocation ID = TacticalRevive.id("bleeding_snapshot");
+    public static final Type<BleedingSnapshotPacket> TYPE = new Type<>(ID);
+
+    public static final StreamCodec<FriendlyByteBuf, BleedingSnapshotPacket> CODEC =
+            StreamCodec.of(BleedingSnapshotPacket::write, BleedingSnapshotPacket::read);
+
+    private static final int MAX_ENTRIES = 1024;
+
+    private static BleedingSnapshotPacket read(FriendlyByteBuf buf) {
+        int count = buf.readVarInt();
+        if (count < 0 || count > MAX_ENTRIES) {
+            throw new IllegalArgumentException("Bleeding snapshot too large: " + count);
+        }
+
+        List<BleedingUpdatePacket> entries = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            entries.add(BleedingUpdatePacket.CODEC.decode(buf));
+        }
+        return new BleedingSnapshotPacket(entries);
+    }
+
+    private static void write(FriendlyByteBuf buf, BleedingSnapshotPacket packet) {
+        buf.writeVarInt(packet.entries.size());
+        for (BleedingUpdatePacket entry : packet.entries) {
+            BleedingUpdatePacket.CODEC.encode(buf, entry);
+        }
+    }
+
+    @Override
+    public Type<? extends CustomPacketPayload> type() {
+        return TYPE;
+    }
+}
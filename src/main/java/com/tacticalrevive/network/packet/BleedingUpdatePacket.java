@@ -6,16 +6,24 @@ import net.minecraft.network.codec.StreamCodec;
 import net.minecraft.network.protocol.common.custom.CustomPacketPayload;
 import net.minecraft.resources.ResourceLocation;
 
-import java.util.UUID;
-
 /**
  * Packet sent from server to client to sync bleeding state.
+ *
+ * <p>Delta-compressed: only fields flagged in {@code fields} are written.
+ * Players are identified by entity network id, revive progress is quantized
+ * to a byte of the required progress, and the rate fields let the client
+ * extrapolate between updates. Bleeding updates are stamped with the server
+ * tick their values were valid at, so the client extrapolates from when they
+ * were sent rather than when they arrived.
  */
 public record BleedingUpdatePacket(
-        UUID playerUuid,
-        boolean isBleeding,
+        int entityId,
+        int fields,
+        long serverTick,
         int timeLeft,
-        float reviveProgress
+        int progress,
+        int bleedRate,
+        float reviveRate
 ) implements CustomPacketPayload {
 
     public static final ResourceLocation ID = TacticalRevive.id("bleeding_update");
@@ -24,20 +32,103 @@ public record BleedingUpdatePacket(
     public static final StreamCodec<FriendlyByteBuf, BleedingUpdatePacket> CODEC =
             StreamCodec.of(BleedingUpdatePacket::write, BleedingUpdatePacket::read);
 
-    private static BleedingUpdatePacket read(FriendlyByteBuf buf) {
+    /** Set while the player is bleeding; cleared packets carry no other fields. */
+    public static final int FLAG_BLEEDING = 1;
+    /** {@link #timeLeft} is present, in ticks. */
+    public static final int FIELD_TIME = 1 << 1;
+    /** {@link #progress} is present, 0-255 of the required revive progress. */
+    public static final int FIELD_PROGRESS = 1 << 2;
+    /**
+     * {@link #bleedRate} (time lost per tick) and {@link #reviveRate}
+     * (fraction of the required progress gained per tick) are present.
+     */
+    public static final int FIELD_RATES = 1 << 3;
+
+    public static final int ALL_FIELDS = FIELD_TIME | FIELD_PROGRESS | FIELD_RATES;
+    public static final int MAX_PROGRESS = 255;
+
+    /**
+     * Create a packet telling clients a player is no longer bleeding.
+     */
+    public static BleedingUpdatePacket stopped(int entityId) {
+        return new BleedingUpdatePacket(entityId, 0, 0L, 0, 0, 0, 0.0f);
+    }
+
+    /**
+     * Quantize revive progress to a byte.
+     *
+     * @param progress current progress
+     * @param required progress needed for revival
+     * @return progress in the range 0-255
+     */
+    public static int quantizeProgress(float progress, float required) {
+        float fraction = Math.min(Math.max(progress / required, 0.0f), 1.0f);
+        return Math.round(fraction * MAX_PROGRESS);
+    }
+
+    /**
+     * Merge a later update for the same player into this one.
+     * Fields present in {@code newer} win; a stopped update replaces everything.
+     * Both are queued in the same tick, so the stamp of {@code newer} holds for all fields.
+     */
+    public BleedingUpdatePacket merge(BleedingUpdatePacket newer) {
+        if (!newer.isBleeding()) {
+            return newer;
+        }
+        if (!isBleeding()) {
+            return newer;
+        }
+
         return new BleedingUpdatePacket(
-                buf.readUUID(),
-                buf.readBoolean(),
-                buf.readVarInt(),
-                buf.readFloat()
+                entityId,
+                fields | newer.fields,
+                newer.serverTick,
+                newer.has(FIELD_TIME) ? newer.timeLeft : timeLeft,
+                newer.has(FIELD_PROGRESS) ? newer.progress : progress,
+                newer.has(FIELD_RATES) ? newer.bleedRate : bleedRate,
+                newer.has(FIELD_RATES) ? newer.reviveRate : reviveRate
         );
     }
 
+    public boolean isBleeding() {
+        return (fields & FLAG_BLEEDING) != 0;
+    }
+
+    public boolean has(int field) {
+        return (fields & field) != 0;
+    }
+
+    private static BleedingUpdatePacket read(FriendlyByteBuf buf) {
+        int entityId = buf.readVarInt();
+        int fields = buf.readUnsignedByte();
+        long serverTick = (fields & FLAG_BLEEDING) != 0 ? buf.readVarLong() : 0L;
+        int timeLeft = (fields & FIELD_TIME) != 0 ? buf.readVarInt() : 0;
+        int progress = (fields & FIELD_PROGRESS) != 0 ? buf.readUnsignedByte() : 0;
+        int bleedRate = 0;
+        float reviveRate = 0.0f;
+        if ((fields & FIELD_RATES) != 0) {
+            bleedRate = buf.readByte();
+            reviveRate = buf.readFloat();
+        }
+        return new BleedingUpdatePacket(entityId, fields, serverTick, timeLeft, progress, bleedRate, reviveRate);
+    }
+
     private static void write(FriendlyByteBuf buf, BleedingUpdatePacket packet) {
-        buf.writeUUID(packet.playerUuid);
-        buf.writeBoolean(packet.isBleeding);
-        buf.writeVarInt(packet.timeLeft);
-        buf.writeFloat(packet.reviveProgress);
+        buf.writeVarInt(packet.entityId);
+        buf.writeByte(packet.fields);
+        if (packet.isBleeding()) {
+            buf.writeVarLong(packet.serverTick);
+        }
+        if (packet.has(FIELD_TIME)) {
+            buf.writeVarInt(packet.timeLeft);
+        }
+        if (packet.has(FIELD_PROGRESS)) {
+            buf.writeByte(packet.progress);
+        }
+        if (packet.has(FIELD_RATES)) {
+            buf.writeByte(packet.bleedRate);
+            buf.writeFloat(packet.reviveRate);
+        }
     }
 
     @Override